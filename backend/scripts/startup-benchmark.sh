@@ -0,0 +1,98 @@
+#!/usr/bin/env bash
+#
+# Reports time-to-first-successful-request (GET /api/books) for each backend startup mode.
+#
+# Usage: scripts/startup-benchmark.sh [mode...]
+#   Modes: jvm aot cds native crac (default: all). Modes whose toolchain is missing are skipped:
+#   native needs GraalVM's native-image on the PATH, crac needs a CRaC-enabled JDK.
+#
+set -euo pipefail
+cd "$(dirname "$0")/.."
+
+PORT=${PORT:-8080}
+URL="http://localhost:${PORT}/api/books"
+JAR=target/library-backend-1.0.0.jar
+MAIN_CLASS=com.pavillion.librarybackend.LibraryApplication
+
+# measure <name> <command...>: starts the command and polls until the first 200 response
+measure() {
+    local name=$1
+    shift
+    local start end pid
+    start=$(date +%s%N)
+    "$@" > "target/startup-${name}.log" 2>&1 &
+    pid=$!
+    until curl -sf -o /dev/null "$URL"; do
+        if ! kill -0 "$pid" 2>/dev/null; then
+            echo "${name}: process exited before serving, see target/startup-${name}.log"
+            return 1
+        fi
+        sleep 0.02
+    done
+    end=$(date +%s%N)
+    printf '%-8s %6d ms\n' "$name" $(( (end - start) / 1000000 ))
+    kill "$pid"
+    wait "$pid" 2>/dev/null || true
+}
+
+run_jvm() {
+    mvn -B -q clean package -DskipTests
+    measure jvm java -jar "$JAR" --server.port="$PORT"
+}
+
+run_aot() {
+    # process-aot starts the application context once at build time; keep its output out of the report
+    local build_log="${TMPDIR:-/tmp}/startup-aot-build.log"
+    if ! mvn -B -q -Paot clean package -DskipTests > "$build_log" 2>&1; then
+        cat "$build_log"
+        return 1
+    fi
+    measure aot java -Dspring.aot.enabled=true -jar "$JAR" --server.port="$PORT"
+}
+
+run_cds() {
+    mvn -B -q clean package -DskipTests
+    # CDS only archives classes loaded from plain JARs, so unpack the Boot JAR onto a flat classpath
+    local app=target/cds
+    rm -rf "$app" && mkdir -p "$app/unpacked"
+    (cd "$app/unpacked" && jar xf "../../../$JAR")
+    jar cf "$app/application.jar" -C "$app/unpacked/BOOT-INF/classes" .
+    local classpath
+    classpath="$app/application.jar:$(ls "$app"/unpacked/BOOT-INF/lib/*.jar | tr '\n' ':')"
+
+    # Training run: start the context, then exit on refresh and dump the archive
+    java -XX:ArchiveClassesAtExit="$app/application.jsa" -Dspring.context.exit=onRefresh \
+        -cp "$classpath" "$MAIN_CLASS" --server.port="$PORT" > target/startup-cds-training.log 2>&1
+    measure cds java -XX:SharedArchiveFile="$app/application.jsa" \
+        -cp "$classpath" "$MAIN_CLASS" --server.port="$PORT"
+}
+
+run_native() {
+    if ! command -v native-image > /dev/null; then
+        echo "native: skipped (native-image not found)"
+        return
+    fi
+    mvn -B -q -Pnative clean native:compile -DskipTests
+    measure native target/library-backend --server.port="$PORT"
+}
+
+run_crac() {
+    if ! java -XX:CRaCCheckpointTo=/tmp -version > /dev/null 2>&1; then
+        echo "crac: skipped (JDK without CRaC support)"
+        return
+    fi
+    mvn -B -q -Pcrac clean package -DskipTests
+    rm -rf target/crac
+    # The checkpoint run exits once the context has refreshed and the image is written
+    java -XX:CRaCCheckpointTo=target/crac -Dspring.context.checkpoint=onRefresh \
+        -jar "$JAR" --server.port="$PORT" > target/startup-crac-checkpoint.log 2>&1 || true
+    measure crac java -XX:CRaCRestoreFrom=target/crac
+}
+
+modes=("$@")
+if [ ${#modes[@]} -eq 0 ]; then
+    modes=(jvm aot cds native crac)
+fi
+for mode in "${modes[@]}"; do
+    "run_${mode}"
+done
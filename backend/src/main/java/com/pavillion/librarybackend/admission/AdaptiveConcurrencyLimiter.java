@@ -0,0 +1,76 @@
+package com.pavillion.librarybackend.admission;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * AIMD concurrency limiter driven by observed latency.
+ * The limit grows by roughly one per limit's worth of fast responses while the limiter is
+ * actually saturated, and is cut multiplicatively when a response exceeds the latency threshold,
+ * so in-flight work tracks what the Tomcat and JDBC pools can serve without queueing.
+ */
+public class AdaptiveConcurrencyLimiter {
+
+    private static final double BACKOFF_RATIO = 0.9;
+
+    private final int minLimit;
+    private final int maxLimit;
+    private final long latencyThresholdNanos;
+
+    private final AtomicInteger inFlight = new AtomicInteger();
+    /** Current limit as the raw bits of a double, so fractional increases accumulate. */
+    private final AtomicLong limitBits;
+
+    public AdaptiveConcurrencyLimiter(int initialLimit, int minLimit, int maxLimit, long latencyThresholdMillis) {
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.latencyThresholdNanos = latencyThresholdMillis * 1_000_000L;
+        this.limitBits = new AtomicLong(Double.doubleToRawLongBits(initialLimit));
+    }
+
+    /**
+     * Reserves an in-flight slot; every successful call must be paired with {@link #release}.
+     */
+    public boolean tryAcquire() {
+        while (true) {
+            int current = inFlight.get();
+            if (current >= getLimit()) {
+                return false;
+            }
+            if (inFlight.compareAndSet(current, current + 1)) {
+                return true;
+            }
+        }
+    }
+
+    /**
+     * Frees the slot and feeds the request's latency back into the limit.
+     */
+    public void release(long latencyNanos) {
+        int inFlightBefore = inFlight.getAndDecrement();
+        while (true) {
+            long bits = limitBits.get();
+            double limit = Double.longBitsToDouble(bits);
+            double next;
+            if (latencyNanos > latencyThresholdNanos) {
+                next = Math.max(minLimit, limit * BACKOFF_RATIO);
+            } else if (inFlightBefore >= (int) limit / 2) {
+                // Only grow while the limit is actually being used
+                next = Math.min(maxLimit, limit + 1.0 / limit);
+            } else {
+                return;
+            }
+            if (next == limit || limitBits.compareAndSet(bits, Double.doubleToRawLongBits(next))) {
+                return;
+            }
+        }
+    }
+
+    public int getLimit() {
+        return (int) Double.longBitsToDouble(limitBits.get());
+    }
+
+    public int getInFlight() {
+        return inFlight.get();
+    }
+}
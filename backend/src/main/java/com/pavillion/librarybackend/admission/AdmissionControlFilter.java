@@ -0,0 +1,148 @@
+package com.pavillion.librarybackend.admission;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.pavillion.librarybackend.exception.GlobalExceptionHandler.ErrorResponse;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Sheds load in front of the book endpoints before it reaches Tomcat workers or the JDBC pool.
+ * A per-client token bucket rejects abusive callers with 429, and an adaptive concurrency
+ * limit rejects everything beyond what the backend currently sustains with 503.
+ * Both responses carry Retry-After so well-behaved clients back off.
+ * Clients are told apart by their X-API-Key when it is one of the configured keys, and by remote
+ * address otherwise, so made-up keys cannot mint fresh buckets.
+ */
+public class AdmissionControlFilter extends OncePerRequestFilter {
+
+    static final String API_KEY_HEADER = "X-API-Key";
+
+    private final Set<String> apiKeys;
+    private final ClientRateLimiter rateLimiter;
+    private final AdaptiveConcurrencyLimiter concurrencyLimiter;
+    private final ObjectMapper objectMapper;
+    private final Counter rateLimitedCounter;
+    private final Counter overloadedCounter;
+
+    public AdmissionControlFilter(Set<String> apiKeys,
+                                  ClientRateLimiter rateLimiter,
+                                  AdaptiveConcurrencyLimiter concurrencyLimiter,
+                                  ObjectMapper objectMapper,
+                                  MeterRegistry meterRegistry) {
+        this.apiKeys = Set.copyOf(apiKeys);
+        this.rateLimiter = rateLimiter;
+        this.concurrencyLimiter = concurrencyLimiter;
+        this.objectMapper = objectMapper;
+        this.rateLimitedCounter = meterRegistry.counter("library.admission.rejected", "reason", "rate_limited");
+        this.overloadedCounter = meterRegistry.counter("library.admission.rejected", "reason", "overloaded");
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        // CORS preflights are cheap and must not consume a client's budget
+        return HttpMethod.OPTIONS.matches(request.getMethod());
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+        long waitNanos = rateLimiter.tryAcquire(clientKey(request));
+        if (waitNanos > 0) {
+            rateLimitedCounter.increment();
+            reject(response, HttpStatus.TOO_MANY_REQUESTS, "Rate limit exceeded", waitNanos);
+            return;
+        }
+
+        if (!concurrencyLimiter.tryAcquire()) {
+            overloadedCounter.increment();
+            reject(response, HttpStatus.SERVICE_UNAVAILABLE, "Server is overloaded", TimeUnit.SECONDS.toNanos(1));
+            return;
+        }
+
+        long start = System.nanoTime();
+        boolean async = false;
+        try {
+            filterChain.doFilter(request, response);
+            async = request.isAsyncStarted();
+        } finally {
+            if (async) {
+                // The handler returned a future: the request stays in flight until it completes
+                request.getAsyncContext().addListener(new ReleaseOnCompletion(start));
+            } else {
+                concurrencyLimiter.release(System.nanoTime() - start);
+            }
+        }
+    }
+
+    /**
+     * Releases the concurrency slot of an async request with its full latency, exactly once.
+     */
+    private final class ReleaseOnCompletion implements AsyncListener {
+
+        private final long start;
+        private final AtomicBoolean released = new AtomicBoolean();
+
+        ReleaseOnCompletion(long start) {
+            this.start = start;
+        }
+
+        @Override
+        public void onComplete(AsyncEvent event) {
+            release();
+        }
+
+        @Override
+        public void onTimeout(AsyncEvent event) {
+            release();
+        }
+
+        @Override
+        public void onError(AsyncEvent event) {
+            release();
+        }
+
+        @Override
+        public void onStartAsync(AsyncEvent event) {
+            // Re-register for the next async cycle, should the request go async again
+            event.getAsyncContext().addListener(this);
+        }
+
+        private void release() {
+            if (released.compareAndSet(false, true)) {
+                concurrencyLimiter.release(System.nanoTime() - start);
+            }
+        }
+    }
+
+    private String clientKey(HttpServletRequest request) {
+        String apiKey = request.getHeader(API_KEY_HEADER);
+        return apiKey != null && apiKeys.contains(apiKey) ? "key:" + apiKey : "ip:" + request.getRemoteAddr();
+    }
+
+    private void reject(HttpServletResponse response, HttpStatus status, String message,
+                        long retryAfterNanos) throws IOException {
+        long retryAfterSeconds = Math.max(1, (retryAfterNanos + 999_999_999L) / 1_000_000_000L);
+        response.setStatus(status.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfterSeconds));
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        objectMapper.writeValue(response.getOutputStream(),
+                new ErrorResponse(status.value(), message, null, LocalDateTime.now()));
+    }
+}
@@ -0,0 +1,46 @@
+package com.pavillion.librarybackend.admission;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Keeps one {@link TokenBucket} per client key (API key or remote address).
+ * Once more than {@code maxTrackedClients} keys are tracked, full buckets are dropped:
+ * a full bucket carries no state, so forgetting it never lets a client exceed its rate.
+ */
+public class ClientRateLimiter {
+
+    private final double ratePerSecond;
+    private final int burst;
+    private final int maxTrackedClients;
+    private final Map<String, TokenBucket> buckets = new ConcurrentHashMap<>();
+
+    public ClientRateLimiter(double ratePerSecond, int burst, int maxTrackedClients) {
+        this.ratePerSecond = ratePerSecond;
+        this.burst = burst;
+        this.maxTrackedClients = maxTrackedClients;
+    }
+
+    /**
+     * @return 0 if the client may proceed, otherwise the nanoseconds it should wait
+     */
+    public long tryAcquire(String clientKey) {
+        long now = System.nanoTime();
+        TokenBucket bucket = buckets.get(clientKey);
+        if (bucket == null) {
+            if (buckets.size() >= maxTrackedClients) {
+                evictFullBuckets(now);
+            }
+            bucket = buckets.computeIfAbsent(clientKey, key -> new TokenBucket(ratePerSecond, burst, now));
+        }
+        return bucket.tryAcquire(now);
+    }
+
+    public int trackedClients() {
+        return buckets.size();
+    }
+
+    private void evictFullBuckets(long now) {
+        buckets.values().removeIf(bucket -> bucket.isFull(now));
+    }
+}
@@ -0,0 +1,47 @@
+package com.pavillion.librarybackend.admission;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Lock-free token bucket implemented as the generic cell rate algorithm (GCRA).
+ * The whole bucket state is a single "theoretical arrival time", updated with CAS,
+ * which is equivalent to a bucket refilling at {@code ratePerSecond} up to {@code burst} tokens.
+ */
+public class TokenBucket {
+
+    private final long emissionIntervalNanos;
+    private final long burstToleranceNanos;
+    private final AtomicLong theoreticalArrivalTime;
+
+    public TokenBucket(double ratePerSecond, int burst, long nowNanos) {
+        this.emissionIntervalNanos = (long) (1_000_000_000L / ratePerSecond);
+        this.burstToleranceNanos = emissionIntervalNanos * burst;
+        this.theoreticalArrivalTime = new AtomicLong(nowNanos);
+    }
+
+    /**
+     * Takes one token if available.
+     *
+     * @return 0 if the request is admitted, otherwise the nanoseconds until a token frees up
+     */
+    public long tryAcquire(long nowNanos) {
+        while (true) {
+            long tat = theoreticalArrivalTime.get();
+            long newTat = Math.max(tat, nowNanos) + emissionIntervalNanos;
+            long waitNanos = newTat - nowNanos - burstToleranceNanos;
+            if (waitNanos > 0) {
+                return waitNanos;
+            }
+            if (theoreticalArrivalTime.compareAndSet(tat, newTat)) {
+                return 0;
+            }
+        }
+    }
+
+    /**
+     * A bucket is full when it has not been used for long enough to refill completely.
+     */
+    public boolean isFull(long nowNanos) {
+        return theoreticalArrivalTime.get() <= nowNanos;
+    }
+}
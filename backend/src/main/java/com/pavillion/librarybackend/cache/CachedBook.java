@@ -0,0 +1,39 @@
+package com.pavillion.librarybackend.cache;
+
+import com.pavillion.librarybackend.dto.BookDTO;
+
+/**
+ * A cached book at a given entity version, or a tombstone ({@code book == null}) recording
+ * that any copy older than {@code version} is stale. Deleted books get a tombstone that
+ * no version can supersede.
+ */
+public record CachedBook(BookDTO book, long version) {
+
+    public static CachedBook invalidatedBelow(long version) {
+        return new CachedBook(null, version);
+    }
+
+    public static CachedBook deleted() {
+        return new CachedBook(null, Long.MAX_VALUE);
+    }
+
+    public boolean isTombstone() {
+        return book == null;
+    }
+
+    /**
+     * Whether this entry should replace {@code existing}: a newer version always does, and at equal
+     * versions a value replaces a tombstone, so a write racing an invalidation can never
+     * reinstate an older copy.
+     */
+    public boolean supersedes(CachedBook existing) {
+        return existing == null || supersedes(existing.version());
+    }
+
+    /**
+     * {@link #supersedes(CachedBook)} against an existing entry known only by its version and kind.
+     */
+    boolean supersedes(long existingVersion) {
+        return version > existingVersion || (version == existingVersion && !isTombstone());
+    }
+}
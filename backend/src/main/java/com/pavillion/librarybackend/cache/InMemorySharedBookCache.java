@@ -0,0 +1,122 @@
+package com.pavillion.librarybackend.cache;
+
+import com.pavillion.librarybackend.catalog.CompactBookTable;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * {@link SharedBookCache} held in this instance's heap. Each instance owns its store, so it is
+ * only shared by the near caches handed this instance; separate processes each have their own
+ * and rely on invalidation broadcasts to drop stale copies, see {@code BookCacheConfig}.
+ * Entries expire after {@code ttl}; once {@code maxEntries} is reached, expired entries are
+ * dropped and new books are not cached until there is room.
+ * <p>
+ * Books are kept in a {@link CompactBookTable}, with the version and expiry of each slot in
+ * parallel arrays, rather than as one DTO per entry; a hit decodes a fresh DTO. Tombstones
+ * carry no book and are few, so they stay in a plain map.
+ */
+public class InMemorySharedBookCache implements SharedBookCache {
+
+    private final Store store = new Store();
+    private final int maxEntries;
+    private final long ttlNanos;
+
+    public InMemorySharedBookCache(int maxEntries, Duration ttl) {
+        this.maxEntries = maxEntries;
+        this.ttlNanos = ttl.toNanos();
+    }
+
+    @Override
+    public CachedBook get(long bookId) {
+        long now = System.nanoTime();
+        synchronized (store) {
+            Tombstone tombstone = store.tombstones.get(bookId);
+            if (tombstone != null) {
+                return isExpired(tombstone.expiresAtNanos(), now) ? null : CachedBook.invalidatedBelow(tombstone.version());
+            }
+            int slot = store.books.slotOf(bookId);
+            if (slot == CompactBookTable.NO_SLOT || isExpired(store.expiresAtNanos[slot], now)) {
+                return null;
+            }
+            return new CachedBook(store.books.toDTO(slot), store.versions[slot]);
+        }
+    }
+
+    @Override
+    public void put(long bookId, CachedBook cached) {
+        long now = System.nanoTime();
+        synchronized (store) {
+            if (!supersedesCurrent(bookId, cached, now)) {
+                return;
+            }
+            if (cached.isTombstone()) {
+                store.books.remove(bookId);
+                store.tombstones.put(bookId, new Tombstone(cached.version(), now + ttlNanos));
+                return;
+            }
+            if (store.books.size() + store.tombstones.size() >= maxEntries && !store.books.contains(bookId)) {
+                store.removeExpired(now);
+                if (store.books.size() + store.tombstones.size() >= maxEntries) {
+                    return;
+                }
+            }
+            store.tombstones.remove(bookId);
+            int slot = store.books.put(bookId, cached.book().getTitle(), cached.book().getAuthor(),
+                    cached.book().getIsbn(), cached.book().getPublishedDate());
+            store.ensureSlotColumns();
+            store.versions[slot] = cached.version();
+            store.expiresAtNanos[slot] = now + ttlNanos;
+        }
+    }
+
+    // Helper methods
+
+    private boolean supersedesCurrent(long bookId, CachedBook cached, long now) {
+        Tombstone tombstone = store.tombstones.get(bookId);
+        if (tombstone != null && !isExpired(tombstone.expiresAtNanos(), now)) {
+            return cached.supersedes(tombstone.version());
+        }
+        int slot = store.books.slotOf(bookId);
+        return slot == CompactBookTable.NO_SLOT
+                || isExpired(store.expiresAtNanos[slot], now)
+                || cached.supersedes(store.versions[slot]);
+    }
+
+    private static boolean isExpired(long expiresAtNanos, long now) {
+        return now - expiresAtNanos >= 0;
+    }
+
+    /**
+     * The cached entries; guarded by its own monitor.
+     */
+    private static final class Store {
+
+        private final CompactBookTable books = new CompactBookTable(1024);
+        private final Map<Long, Tombstone> tombstones = new HashMap<>();
+        private long[] versions = new long[0];
+        private long[] expiresAtNanos = new long[0];
+
+        void ensureSlotColumns() {
+            int limit = books.slotLimit();
+            if (limit > versions.length) {
+                int capacity = Math.max(limit, versions.length + (versions.length >> 1));
+                versions = Arrays.copyOf(versions, capacity);
+                expiresAtNanos = Arrays.copyOf(expiresAtNanos, capacity);
+            }
+        }
+
+        void removeExpired(long now) {
+            tombstones.values().removeIf(tombstone -> isExpired(tombstone.expiresAtNanos(), now));
+            for (int slot = 0; slot < books.slotLimit(); slot++) {
+                if (books.isLive(slot) && isExpired(expiresAtNanos[slot], now)) {
+                    books.remove(books.idAt(slot));
+                }
+            }
+        }
+    }
+
+    private record Tombstone(long version, long expiresAtNanos) {}
+}
@@ -0,0 +1,112 @@
+package com.pavillion.librarybackend.cache;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.SocketAddress;
+import java.net.StandardSocketOptions;
+import java.nio.ByteBuffer;
+import java.nio.channels.ClosedChannelException;
+import java.nio.channels.DatagramChannel;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.stream.Collectors;
+
+/**
+ * Sends book invalidations to a fixed list of peer instances over UDP, and receives theirs.
+ * Each datagram is 24 bytes: sender node id, book id and the book's new version. Datagrams
+ * from hosts other than the configured peers are dropped.
+ * Delivery is best effort; near-cache expiry bounds how long a lost message can leave a copy stale.
+ */
+@Slf4j
+public class InvalidationBroadcaster implements Closeable {
+
+    private static final int MESSAGE_BYTES = 3 * Long.BYTES;
+
+    /**
+     * Receives invalidations sent by other instances.
+     */
+    @FunctionalInterface
+    public interface Listener {
+        void onInvalidation(long bookId, long version);
+    }
+
+    private final long nodeId = ThreadLocalRandom.current().nextLong();
+    private final List<InetSocketAddress> peers;
+    private final Set<InetAddress> peerHosts;
+    private final DatagramChannel channel;
+
+    /**
+     * @param port local UDP port to receive on; 0 disables broadcasting entirely
+     */
+    public InvalidationBroadcaster(int port, List<InetSocketAddress> peers, Listener listener) throws IOException {
+        this.peers = peers;
+        this.peerHosts = peers.stream()
+                .map(InetSocketAddress::getAddress)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toUnmodifiableSet());
+        if (port == 0) {
+            this.channel = null;
+            return;
+        }
+        this.channel = DatagramChannel.open()
+                .setOption(StandardSocketOptions.SO_REUSEADDR, true)
+                .bind(new InetSocketAddress(port));
+        Thread receiver = new Thread(() -> receive(listener), "book-cache-invalidation");
+        receiver.setDaemon(true);
+        receiver.start();
+        log.info("Book cache invalidations on UDP port {}, peers {}", port, peers);
+    }
+
+    public void broadcast(long bookId, long version) {
+        if (channel == null || peers.isEmpty()) {
+            return;
+        }
+        ByteBuffer message = ByteBuffer.allocate(MESSAGE_BYTES).putLong(nodeId).putLong(bookId).putLong(version).flip();
+        for (InetSocketAddress peer : peers) {
+            try {
+                channel.send(message.rewind(), peer);
+            } catch (IOException e) {
+                log.warn("Failed to send book cache invalidation to {}: {}", peer, e.toString());
+            }
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (channel != null) {
+            channel.close();
+        }
+    }
+
+    private void receive(Listener listener) {
+        ByteBuffer message = ByteBuffer.allocate(MESSAGE_BYTES);
+        while (channel.isOpen()) {
+            try {
+                message.clear();
+                SocketAddress sender = channel.receive(message);
+                if (!isPeer(sender)) {
+                    log.debug("Ignoring book cache invalidation from {}, not a configured peer", sender);
+                    continue;
+                }
+                if (message.position() != MESSAGE_BYTES || message.getLong(0) == nodeId) {
+                    continue;
+                }
+                listener.onInvalidation(message.getLong(Long.BYTES), message.getLong(2 * Long.BYTES));
+            } catch (ClosedChannelException e) {
+                return;
+            } catch (IOException | RuntimeException e) {
+                log.warn("Failed to handle book cache invalidation: {}", e.toString());
+            }
+        }
+    }
+
+    private boolean isPeer(SocketAddress sender) {
+        return sender instanceof InetSocketAddress address && peerHosts.contains(address.getAddress());
+    }
+}
@@ -0,0 +1,60 @@
+package com.pavillion.librarybackend.cache;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Small per-instance cache in front of the {@link SharedBookCache}.
+ * Entries live for at most {@code ttl}, which bounds staleness if an invalidation message is lost.
+ * Tombstones are always stored, even when full, since dropping one could let a racing
+ * read reinstate a stale copy.
+ */
+class NearBookCache {
+
+    private final Map<Long, Entry> entries = new ConcurrentHashMap<>();
+    private final int maxEntries;
+    private final long ttlNanos;
+
+    NearBookCache(int maxEntries, Duration ttl) {
+        this.maxEntries = maxEntries;
+        this.ttlNanos = ttl.toNanos();
+    }
+
+    CachedBook get(long bookId) {
+        Entry entry = entries.get(bookId);
+        if (entry == null) {
+            return null;
+        }
+        if (entry.isExpired(System.nanoTime())) {
+            entries.remove(bookId, entry);
+            return null;
+        }
+        return entry.cached();
+    }
+
+    void put(long bookId, CachedBook cached) {
+        long now = System.nanoTime();
+        if (!cached.isTombstone() && entries.size() >= maxEntries && !entries.containsKey(bookId)) {
+            entries.values().removeIf(entry -> entry.isExpired(now));
+            if (entries.size() >= maxEntries) {
+                return;
+            }
+        }
+        entries.compute(bookId, (id, existing) ->
+                existing == null || existing.isExpired(now) || cached.supersedes(existing.cached())
+                        ? new Entry(cached, now + ttlNanos)
+                        : existing);
+    }
+
+    int size() {
+        return entries.size();
+    }
+
+    private record Entry(CachedBook cached, long expiresAtNanos) {
+
+        boolean isExpired(long now) {
+            return now - expiresAtNanos >= 0;
+        }
+    }
+}
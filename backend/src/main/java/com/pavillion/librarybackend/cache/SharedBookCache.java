@@ -0,0 +1,16 @@
+package com.pavillion.librarybackend.cache;
+
+/**
+ * Cache tier shared by all backend instances, behind the per-instance {@link NearBookCache}.
+ * Implementations must keep whichever entry {@link CachedBook#supersedes supersedes} the other,
+ * atomically per id, so concurrent writers converge on the newest version.
+ */
+public interface SharedBookCache {
+
+    /**
+     * Returns the entry for the book, possibly a tombstone, or null if none is cached.
+     */
+    CachedBook get(long bookId);
+
+    void put(long bookId, CachedBook entry);
+}
@@ -0,0 +1,98 @@
+package com.pavillion.librarybackend.cache;
+
+import com.pavillion.librarybackend.dto.BookDTO;
+import com.pavillion.librarybackend.event.BookChangedEvent;
+import com.pavillion.librarybackend.event.RemoteBookChangedEvent;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.context.event.EventListener;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+
+/**
+ * Book-by-id cache for a cluster of backend instances: a per-instance near cache in front
+ * of a {@link SharedBookCache}, kept coherent by versioned invalidations.
+ * <p>
+ * Every entry carries the book's entity version. After a local write commits, the new
+ * version is written to both tiers and broadcast to peers, which replace their near copy
+ * with a tombstone for that version. Entries only ever move to newer versions, so a read
+ * that loaded an older row before the write cannot overwrite the newer entry or tombstone
+ * when it caches its result.
+ */
+public class TwoTierBookCache {
+
+    private final NearBookCache nearCache;
+    private final SharedBookCache sharedCache;
+    private final InvalidationBroadcaster broadcaster;
+
+    private final Counter nearHits;
+    private final Counter sharedHits;
+    private final Counter misses;
+
+    public TwoTierBookCache(int nearMaxEntries, Duration nearTtl, SharedBookCache sharedCache,
+                            InvalidationBroadcaster broadcaster, MeterRegistry meterRegistry) {
+        this.nearCache = new NearBookCache(nearMaxEntries, nearTtl);
+        this.sharedCache = sharedCache;
+        this.broadcaster = broadcaster;
+        this.nearHits = lookups(meterRegistry, "near");
+        this.sharedHits = lookups(meterRegistry, "shared");
+        this.misses = lookups(meterRegistry, "miss");
+        Gauge.builder("library.cache.books.near.size", nearCache, NearBookCache::size)
+                .description("Entries, including tombstones, in this instance's near cache")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Returns the cached book, or null if neither tier holds a current copy.
+     */
+    public BookDTO get(long bookId) {
+        CachedBook near = nearCache.get(bookId);
+        if (near != null && !near.isTombstone()) {
+            nearHits.increment();
+            return near.book();
+        }
+        CachedBook shared = sharedCache.get(bookId);
+        if (shared != null && !shared.isTombstone() && shared.supersedes(near)) {
+            nearCache.put(bookId, shared);
+            sharedHits.increment();
+            return shared.book();
+        }
+        misses.increment();
+        return null;
+    }
+
+    /**
+     * Caches a book just read from the database at the given entity version.
+     */
+    public void put(BookDTO book, long version) {
+        CachedBook cached = new CachedBook(book, version);
+        sharedCache.put(book.getId(), cached);
+        nearCache.put(book.getId(), cached);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onBookChanged(BookChangedEvent event) {
+        CachedBook cached = event.isDeletion() ? CachedBook.deleted() : new CachedBook(event.book(), event.version());
+        sharedCache.put(event.bookId(), cached);
+        nearCache.put(event.bookId(), cached);
+        broadcaster.broadcast(event.bookId(), cached.version());
+    }
+
+    @EventListener
+    public void onRemoteBookChanged(RemoteBookChangedEvent event) {
+        CachedBook tombstone = CachedBook.invalidatedBelow(event.version());
+        nearCache.put(event.bookId(), tombstone);
+        // A no-op for a genuinely shared tier that already holds the new version;
+        // needed when each process has its own in-memory tier
+        sharedCache.put(event.bookId(), tombstone);
+    }
+
+    private static Counter lookups(MeterRegistry meterRegistry, String result) {
+        return Counter.builder("library.cache.books.lookups")
+                .description("Book cache lookups by the tier that answered")
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+}
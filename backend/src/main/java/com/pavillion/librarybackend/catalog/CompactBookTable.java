@@ -0,0 +1,274 @@
+package com.pavillion.librarybackend.catalog;
+
+import com.pavillion.librarybackend.dto.BookDTO;
+import com.pavillion.librarybackend.validation.Isbn;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Memory-lean, column-oriented store of books for in-memory catalog views and caches:
+ * the shared book cache tier and the facet index keep their per-book state here.
+ * Instead of one object graph per book (entity or DTO, three Strings and a LocalDate),
+ * each book occupies a slot across primitive arrays:
+ * <ul>
+ *   <li>the ISBN-13 packed into a {@code long},</li>
+ *   <li>the published date as an epoch-day {@code int},</li>
+ *   <li>the author as a code into a shared {@link StringDictionary},</li>
+ *   <li>the title as UTF-8 bytes in a single shared arena.</li>
+ * </ul>
+ * Strings are only materialized when a book is read back. Title and ISBN may be null for callers
+ * that only aggregate over authors and dates. Not thread-safe; callers guard access.
+ */
+public class CompactBookTable {
+
+    public static final int NO_SLOT = LongIntHashMap.MISSING;
+    /** Publication year of a book without a published date. */
+    public static final int NO_YEAR = Integer.MIN_VALUE;
+
+    private static final long FREE = Long.MIN_VALUE;
+    private static final long NO_ISBN = -1L;
+    private static final int NO_DATE = Integer.MIN_VALUE;
+    private static final int NO_TITLE = -1;
+    private static final int MIN_COMPACTION_BYTES = 1 << 20;
+
+    private final StringDictionary authors = new StringDictionary();
+    private final LongIntHashMap slotsById;
+    /** ISBNs not in canonical ISBN-13 form and so not packed; rare, only via direct writes. */
+    private final Map<Long, String> unpackedIsbns = new HashMap<>();
+
+    private long[] ids;
+    private long[] isbns;
+    private int[] publishedEpochDays;
+    private int[] authorCodes;
+    private int[] titleOffsets;
+    private int[] titleLengths;
+
+    private int slotCount;
+    private int[] freeSlots = new int[16];
+    private int freeSlotCount;
+
+    private byte[] titleArena;
+    private int titleArenaUsed;
+    private int titleArenaGarbage;
+
+    public CompactBookTable(int expectedSize) {
+        int capacity = Math.max(16, expectedSize);
+        slotsById = new LongIntHashMap(capacity);
+        ids = new long[capacity];
+        isbns = new long[capacity];
+        publishedEpochDays = new int[capacity];
+        authorCodes = new int[capacity];
+        titleOffsets = new int[capacity];
+        titleLengths = new int[capacity];
+        titleArena = new byte[capacity * 16];
+    }
+
+    /**
+     * Returns the slot holding the book, or {@link #NO_SLOT}.
+     */
+    public int slotOf(long id) {
+        return slotsById.get(id);
+    }
+
+    public boolean contains(long id) {
+        return slotOf(id) != NO_SLOT;
+    }
+
+    /**
+     * Inserts or replaces a book and returns its slot.
+     */
+    public int put(long id, String title, String author, String isbn, LocalDate publishedDate) {
+        int slot = slotOf(id);
+        if (slot == NO_SLOT) {
+            slot = allocateSlot();
+            slotsById.put(id, slot);
+            ids[slot] = id;
+        } else {
+            titleArenaGarbage += titleLengths[slot];
+            unpackedIsbns.remove(id);
+        }
+        // Drop the slot's previous title bytes (already counted as garbage) before compaction can see them
+        titleLengths[slot] = 0;
+
+        long packedIsbn = packIsbn(isbn);
+        if (packedIsbn == NO_ISBN && isbn != null) {
+            unpackedIsbns.put(id, isbn);
+        }
+        isbns[slot] = packedIsbn;
+        publishedEpochDays[slot] = publishedDate == null ? NO_DATE : (int) publishedDate.toEpochDay();
+        authorCodes[slot] = authors.encode(author);
+        storeTitle(slot, title);
+        return slot;
+    }
+
+    /**
+     * Removes a book and returns the slot it occupied, or {@link #NO_SLOT}.
+     * The slot's values stay readable until the next {@link #put}.
+     */
+    public int remove(long id) {
+        int slot = slotsById.remove(id);
+        if (slot == NO_SLOT) {
+            return NO_SLOT;
+        }
+        ids[slot] = FREE;
+        titleArenaGarbage += titleLengths[slot];
+        unpackedIsbns.remove(id);
+        if (freeSlotCount == freeSlots.length) {
+            freeSlots = Arrays.copyOf(freeSlots, freeSlotCount * 2);
+        }
+        freeSlots[freeSlotCount++] = slot;
+        return slot;
+    }
+
+    public int size() {
+        return slotsById.size();
+    }
+
+    public void clear() {
+        slotsById.clear();
+        unpackedIsbns.clear();
+        authors.clear();
+        slotCount = 0;
+        freeSlotCount = 0;
+        titleArenaUsed = 0;
+        titleArenaGarbage = 0;
+    }
+
+    // Slot accessors
+
+    public long idAt(int slot) {
+        return ids[slot];
+    }
+
+    public String titleAt(int slot) {
+        if (titleOffsets[slot] == NO_TITLE) {
+            return null;
+        }
+        return new String(titleArena, titleOffsets[slot], titleLengths[slot], StandardCharsets.UTF_8);
+    }
+
+    public int authorCodeAt(int slot) {
+        return authorCodes[slot];
+    }
+
+    public String authorAt(int slot) {
+        return authors.decode(authorCodes[slot]);
+    }
+
+    public String isbnAt(int slot) {
+        long packed = isbns[slot];
+        return packed == NO_ISBN ? unpackedIsbns.get(ids[slot]) : Long.toString(packed);
+    }
+
+    /**
+     * Returns the publication year, or {@link #NO_YEAR} if the book has no published date.
+     */
+    public int publishedYearAt(int slot) {
+        int epochDay = publishedEpochDays[slot];
+        return epochDay == NO_DATE ? NO_YEAR : LocalDate.ofEpochDay(epochDay).getYear();
+    }
+
+    public LocalDate publishedDateAt(int slot) {
+        int epochDay = publishedEpochDays[slot];
+        return epochDay == NO_DATE ? null : LocalDate.ofEpochDay(epochDay);
+    }
+
+    public BookDTO toDTO(int slot) {
+        return BookDTO.builder()
+                .id(idAt(slot))
+                .title(titleAt(slot))
+                .author(authorAt(slot))
+                .isbn(isbnAt(slot))
+                .publishedDate(publishedDateAt(slot))
+                .build();
+    }
+
+    /**
+     * Dictionary of author names; codes returned by {@link #authorCodeAt} index into it.
+     */
+    public StringDictionary authors() {
+        return authors;
+    }
+
+    /**
+     * Slots are numbered below this bound; callers keeping their own per-slot columns size them to it.
+     */
+    public int slotLimit() {
+        return slotCount;
+    }
+
+    /**
+     * Whether the slot currently holds a book; removed slots wait for reuse.
+     */
+    public boolean isLive(int slot) {
+        return ids[slot] != FREE;
+    }
+
+    // Helper methods
+
+    private int allocateSlot() {
+        if (freeSlotCount > 0) {
+            return freeSlots[--freeSlotCount];
+        }
+        if (slotCount == ids.length) {
+            int capacity = ids.length + (ids.length >> 1);
+            ids = Arrays.copyOf(ids, capacity);
+            isbns = Arrays.copyOf(isbns, capacity);
+            publishedEpochDays = Arrays.copyOf(publishedEpochDays, capacity);
+            authorCodes = Arrays.copyOf(authorCodes, capacity);
+            titleOffsets = Arrays.copyOf(titleOffsets, capacity);
+            titleLengths = Arrays.copyOf(titleLengths, capacity);
+        }
+        return slotCount++;
+    }
+
+    private void storeTitle(int slot, String title) {
+        if (title == null) {
+            titleOffsets[slot] = NO_TITLE;
+            return;
+        }
+        byte[] bytes = title.getBytes(StandardCharsets.UTF_8);
+        if (titleArenaGarbage >= MIN_COMPACTION_BYTES && titleArenaGarbage > titleArenaUsed / 2) {
+            compactTitles();
+        }
+        if (titleArenaUsed + bytes.length > titleArena.length) {
+            int capacity = Math.max(titleArenaUsed + bytes.length, titleArena.length + (titleArena.length >> 1));
+            titleArena = Arrays.copyOf(titleArena, capacity);
+        }
+        System.arraycopy(bytes, 0, titleArena, titleArenaUsed, bytes.length);
+        titleOffsets[slot] = titleArenaUsed;
+        titleLengths[slot] = bytes.length;
+        titleArenaUsed += bytes.length;
+    }
+
+    /**
+     * Copies the titles of live slots into a fresh arena, dropping bytes of replaced or removed titles.
+     */
+    private void compactTitles() {
+        byte[] compacted = new byte[titleArena.length];
+        int used = 0;
+        for (int slot = 0; slot < slotCount; slot++) {
+            if (ids[slot] == FREE || titleOffsets[slot] == NO_TITLE) {
+                continue;
+            }
+            System.arraycopy(titleArena, titleOffsets[slot], compacted, used, titleLengths[slot]);
+            titleOffsets[slot] = used;
+            used += titleLengths[slot];
+        }
+        titleArena = compacted;
+        titleArenaUsed = used;
+        titleArenaGarbage = 0;
+    }
+
+    /**
+     * Packs a canonical ISBN-13; anything else is kept as given, so reads return exactly what was stored.
+     */
+    private static long packIsbn(String isbn) {
+        String isbn13 = Isbn.toIsbn13(isbn);
+        return isbn13 == null || !isbn13.equals(isbn) ? NO_ISBN : Long.parseLong(isbn13);
+    }
+}
@@ -0,0 +1,122 @@
+package com.pavillion.librarybackend.catalog;
+
+import java.text.Normalizer;
+import java.util.Arrays;
+import java.util.SplittableRandom;
+
+/**
+ * MinHash signatures over character 3-gram shingles of a book's normalized title and author.
+ * Two books' signatures agree in each position with probability equal to the Jaccard
+ * similarity of their shingle sets, which {@link MinHashLshIndex} uses to find candidates.
+ * Only the low 16 bits of each minimum are kept; collisions of the truncation are rare
+ * enough not to matter for candidate selection.
+ */
+public final class MinHash {
+
+    public static final int SIGNATURE_LENGTH = MinHashLshIndex.BANDS * MinHashLshIndex.ROWS_PER_BAND;
+
+    private static final long[] SEEDS = new SplittableRandom(0x5EEDL).longs(SIGNATURE_LENGTH).toArray();
+
+    private MinHash() {}
+
+    /**
+     * Returns the sorted, distinct shingles of the book; empty if the text has no letters or digits.
+     * Each 3-gram is packed losslessly into a long, 16 bits per char.
+     */
+    public static long[] shingles(String title, String author) {
+        String text = normalize(title + " " + author);
+        if (text.isEmpty()) {
+            return new long[0];
+        }
+        if (text.length() < 3) {
+            text = (text + "  ").substring(0, 3);
+        }
+        long[] shingles = new long[text.length() - 2];
+        for (int i = 0; i < shingles.length; i++) {
+            shingles[i] = ((long) text.charAt(i) << 32) | ((long) text.charAt(i + 1) << 16) | text.charAt(i + 2);
+        }
+        Arrays.sort(shingles);
+        int distinct = 0;
+        for (int i = 0; i < shingles.length; i++) {
+            if (i == 0 || shingles[i] != shingles[i - 1]) {
+                shingles[distinct++] = shingles[i];
+            }
+        }
+        return Arrays.copyOf(shingles, distinct);
+    }
+
+    /**
+     * Returns the signature of a shingle set, or null for an empty set.
+     */
+    public static short[] signature(long[] shingles) {
+        if (shingles.length == 0) {
+            return null;
+        }
+        short[] signature = new short[SIGNATURE_LENGTH];
+        for (int i = 0; i < SIGNATURE_LENGTH; i++) {
+            long min = Long.MAX_VALUE;
+            for (long shingle : shingles) {
+                // Unsigned comparison so the full 64-bit hash range is used
+                long hash = mix(shingle ^ SEEDS[i]);
+                if (Long.compareUnsigned(hash, min) < 0) {
+                    min = hash;
+                }
+            }
+            signature[i] = (short) min;
+        }
+        return signature;
+    }
+
+    /**
+     * Exact Jaccard similarity of two sorted, distinct shingle sets.
+     */
+    public static double jaccard(long[] a, long[] b) {
+        if (a.length == 0 && b.length == 0) {
+            return 1.0;
+        }
+        int common = 0;
+        for (int i = 0, j = 0; i < a.length && j < b.length; ) {
+            if (a[i] == b[j]) {
+                common++;
+                i++;
+                j++;
+            } else if (a[i] < b[j]) {
+                i++;
+            } else {
+                j++;
+            }
+        }
+        return (double) common / (a.length + b.length - common);
+    }
+
+    /**
+     * Case-, accent- and punctuation-insensitive form with single spaces between words.
+     */
+    static String normalize(String text) {
+        String decomposed = Normalizer.normalize(text, Normalizer.Form.NFD);
+        StringBuilder normalized = new StringBuilder(decomposed.length());
+        boolean space = true;
+        for (int i = 0; i < decomposed.length(); i++) {
+            char c = decomposed.charAt(i);
+            if (Character.isLetterOrDigit(c)) {
+                normalized.append(Character.toLowerCase(c));
+                space = false;
+            } else if (!space && Character.getType(c) != Character.NON_SPACING_MARK) {
+                normalized.append(' ');
+                space = true;
+            }
+        }
+        int length = normalized.length();
+        return space && length > 0 ? normalized.substring(0, length - 1) : normalized.toString();
+    }
+
+    /** MurmurHash3 64-bit finalizer. */
+    private static long mix(long h) {
+        h ^= h >>> 33;
+        h *= 0xFF51AFD7ED558CCDL;
+        h ^= h >>> 33;
+        h *= 0xC4CEB9FE1A85EC53L;
+        h ^= h >>> 33;
+        return h;
+    }
+}
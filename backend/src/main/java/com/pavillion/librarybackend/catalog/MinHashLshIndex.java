@@ -0,0 +1,167 @@
+package com.pavillion.librarybackend.catalog;
+
+import java.util.Arrays;
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+/**
+ * Locality-sensitive hashing index over {@link MinHash} signatures.
+ * Each signature is cut into {@link #BANDS} bands of {@link #ROWS_PER_BAND} values; books whose
+ * signatures agree on a whole band land in the same bucket and become candidates for each other.
+ * With 8 bands of 3 rows, a pair with Jaccard similarity 0.7 shares a bucket with probability
+ * about 0.97, a pair at 0.3 with about 0.2.
+ * <p>
+ * A band of three 16-bit values packs exactly into one long, used directly as the bucket key.
+ * Buckets are doubly linked lists threaded through per-slot arrays, so adding and removing a book
+ * is constant time, and a lookup reads at most {@code maxPerBucket} entries per band regardless
+ * of catalog size. Each book also keeps the version it was indexed at, so callers can order
+ * changes arriving from several sources. Not thread-safe; callers guard access.
+ */
+public class MinHashLshIndex {
+
+    public static final int BANDS = 8;
+    public static final int ROWS_PER_BAND = 3;
+    /** Version reported for books not in the index. */
+    public static final long NO_VERSION = Long.MIN_VALUE;
+
+    private static final int NONE = LongIntHashMap.MISSING;
+
+    private final LongIntHashMap slotsById;
+    private final LongIntHashMap[] bucketHeads = new LongIntHashMap[BANDS];
+
+    private long[] ids;
+    private long[] versions;
+    private short[] signatures;
+    private int[] next;
+    private int[] previous;
+
+    private int slotCount;
+    private int[] freeSlots = new int[16];
+    private int freeSlotCount;
+
+    public MinHashLshIndex(int expectedSize) {
+        int capacity = Math.max(16, expectedSize);
+        slotsById = new LongIntHashMap(capacity);
+        for (int band = 0; band < BANDS; band++) {
+            bucketHeads[band] = new LongIntHashMap(capacity);
+        }
+        ids = new long[capacity];
+        versions = new long[capacity];
+        signatures = new short[capacity * MinHash.SIGNATURE_LENGTH];
+        next = new int[capacity * BANDS];
+        previous = new int[capacity * BANDS];
+    }
+
+    /**
+     * Indexes or re-indexes a book at the given version; a null signature just removes it.
+     */
+    public void put(long id, long version, short[] signature) {
+        remove(id);
+        if (signature == null) {
+            return;
+        }
+        int slot = allocateSlot();
+        slotsById.put(id, slot);
+        ids[slot] = id;
+        versions[slot] = version;
+        System.arraycopy(signature, 0, signatures, slot * MinHash.SIGNATURE_LENGTH, MinHash.SIGNATURE_LENGTH);
+        for (int band = 0; band < BANDS; band++) {
+            long key = bandKey(slot, band);
+            int head = bucketHeads[band].get(key);
+            int link = slot * BANDS + band;
+            next[link] = head;
+            previous[link] = NONE;
+            if (head != NONE) {
+                previous[head * BANDS + band] = slot;
+            }
+            bucketHeads[band].put(key, slot);
+        }
+    }
+
+    public void remove(long id) {
+        int slot = slotsById.remove(id);
+        if (slot == NONE) {
+            return;
+        }
+        for (int band = 0; band < BANDS; band++) {
+            int link = slot * BANDS + band;
+            int after = next[link];
+            int before = previous[link];
+            if (before == NONE) {
+                long key = bandKey(slot, band);
+                if (after == NONE) {
+                    bucketHeads[band].remove(key);
+                } else {
+                    bucketHeads[band].put(key, after);
+                }
+            } else {
+                next[before * BANDS + band] = after;
+            }
+            if (after != NONE) {
+                previous[after * BANDS + band] = before;
+            }
+        }
+        if (freeSlotCount == freeSlots.length) {
+            freeSlots = Arrays.copyOf(freeSlots, freeSlotCount * 2);
+        }
+        freeSlots[freeSlotCount++] = slot;
+    }
+
+    /**
+     * Returns ids of books sharing at least one band with the signature, excluding {@code excludeId},
+     * reading at most {@code maxPerBucket} entries of each bucket.
+     */
+    public Set<Long> candidates(short[] signature, long excludeId, int maxPerBucket) {
+        Set<Long> candidates = new LinkedHashSet<>();
+        for (int band = 0; band < BANDS; band++) {
+            int offset = band * ROWS_PER_BAND;
+            long key = pack(signature[offset], signature[offset + 1], signature[offset + 2]);
+            int slot = bucketHeads[band].get(key);
+            for (int read = 0; slot != NONE && read < maxPerBucket; read++) {
+                if (ids[slot] != excludeId) {
+                    candidates.add(ids[slot]);
+                }
+                slot = next[slot * BANDS + band];
+            }
+        }
+        return candidates;
+    }
+
+    /**
+     * Returns the version the book was indexed at, or {@link #NO_VERSION}.
+     */
+    public long versionOf(long id) {
+        int slot = slotsById.get(id);
+        return slot == NONE ? NO_VERSION : versions[slot];
+    }
+
+    public int size() {
+        return slotsById.size();
+    }
+
+    // Helper methods
+
+    private int allocateSlot() {
+        if (freeSlotCount > 0) {
+            return freeSlots[--freeSlotCount];
+        }
+        if (slotCount == ids.length) {
+            int capacity = ids.length + (ids.length >> 1);
+            ids = Arrays.copyOf(ids, capacity);
+            versions = Arrays.copyOf(versions, capacity);
+            signatures = Arrays.copyOf(signatures, capacity * MinHash.SIGNATURE_LENGTH);
+            next = Arrays.copyOf(next, capacity * BANDS);
+            previous = Arrays.copyOf(previous, capacity * BANDS);
+        }
+        return slotCount++;
+    }
+
+    private long bandKey(int slot, int band) {
+        int offset = slot * MinHash.SIGNATURE_LENGTH + band * ROWS_PER_BAND;
+        return pack(signatures[offset], signatures[offset + 1], signatures[offset + 2]);
+    }
+
+    private static long pack(short a, short b, short c) {
+        return ((a & 0xFFFFL) << 32) | ((b & 0xFFFFL) << 16) | (c & 0xFFFFL);
+    }
+}
@@ -0,0 +1,48 @@
+package com.pavillion.librarybackend.catalog;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Dictionary encoding for low-cardinality strings such as author names.
+ * Each distinct value is stored once and referred to by a dense int code.
+ * Codes are never reused, so they can index side arrays (e.g. per-author counts).
+ * Not thread-safe.
+ */
+public class StringDictionary {
+
+    private final Map<String, Integer> codes = new HashMap<>();
+    private final List<String> values = new ArrayList<>();
+
+    /**
+     * Returns the code for the value, assigning the next free code the first time it is seen.
+     */
+    public int encode(String value) {
+        Integer code = codes.get(value);
+        if (code != null) {
+            return code;
+        }
+        int assigned = values.size();
+        values.add(value);
+        codes.put(value, assigned);
+        return assigned;
+    }
+
+    public String decode(int code) {
+        return values.get(code);
+    }
+
+    /**
+     * Number of codes handed out so far; valid codes are {@code 0 .. size() - 1}.
+     */
+    public int size() {
+        return values.size();
+    }
+
+    public void clear() {
+        codes.clear();
+        values.clear();
+    }
+}
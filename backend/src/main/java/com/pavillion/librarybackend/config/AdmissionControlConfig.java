@@ -0,0 +1,67 @@
+package com.pavillion.librarybackend.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.pavillion.librarybackend.admission.AdaptiveConcurrencyLimiter;
+import com.pavillion.librarybackend.admission.AdmissionControlFilter;
+import com.pavillion.librarybackend.admission.ClientRateLimiter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.Set;
+
+/**
+ * Wires rate limiting and adaptive concurrency limiting in front of /api/books
+ * and exports the limiter state as Micrometer gauges.
+ */
+@Configuration
+public class AdmissionControlConfig {
+
+    @Bean
+    public ClientRateLimiter clientRateLimiter(
+            @Value("${library.admission.rate-per-second:50}") double ratePerSecond,
+            @Value("${library.admission.burst:100}") int burst,
+            @Value("${library.admission.max-tracked-clients:10000}") int maxTrackedClients,
+            MeterRegistry meterRegistry) {
+        ClientRateLimiter limiter = new ClientRateLimiter(ratePerSecond, burst, maxTrackedClients);
+        Gauge.builder("library.admission.clients", limiter, ClientRateLimiter::trackedClients)
+                .description("Clients with a tracked rate-limit bucket")
+                .register(meterRegistry);
+        return limiter;
+    }
+
+    @Bean
+    public AdaptiveConcurrencyLimiter adaptiveConcurrencyLimiter(
+            @Value("${library.admission.initial-concurrency:20}") int initialLimit,
+            @Value("${library.admission.min-concurrency:4}") int minLimit,
+            @Value("${library.admission.max-concurrency:200}") int maxLimit,
+            @Value("${library.admission.latency-threshold-ms:250}") long latencyThresholdMillis,
+            MeterRegistry meterRegistry) {
+        AdaptiveConcurrencyLimiter limiter =
+                new AdaptiveConcurrencyLimiter(initialLimit, minLimit, maxLimit, latencyThresholdMillis);
+        Gauge.builder("library.admission.concurrency.limit", limiter, AdaptiveConcurrencyLimiter::getLimit)
+                .description("Current adaptive concurrency limit")
+                .register(meterRegistry);
+        Gauge.builder("library.admission.concurrency.in_flight", limiter, AdaptiveConcurrencyLimiter::getInFlight)
+                .description("Requests currently admitted")
+                .register(meterRegistry);
+        return limiter;
+    }
+
+    @Bean
+    public FilterRegistrationBean<AdmissionControlFilter> admissionControlFilter(
+            @Value("${library.admission.api-keys:}") Set<String> apiKeys,
+            ClientRateLimiter clientRateLimiter,
+            AdaptiveConcurrencyLimiter adaptiveConcurrencyLimiter,
+            ObjectMapper objectMapper,
+            MeterRegistry meterRegistry) {
+        FilterRegistrationBean<AdmissionControlFilter> registration = new FilterRegistrationBean<>(
+                new AdmissionControlFilter(apiKeys, clientRateLimiter, adaptiveConcurrencyLimiter,
+                        objectMapper, meterRegistry));
+        registration.addUrlPatterns("/api/books", "/api/books/*");
+        return registration;
+    }
+}
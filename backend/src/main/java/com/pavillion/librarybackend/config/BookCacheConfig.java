@@ -0,0 +1,72 @@
+package com.pavillion.librarybackend.config;
+
+import com.pavillion.librarybackend.cache.InMemorySharedBookCache;
+import com.pavillion.librarybackend.cache.InvalidationBroadcaster;
+import com.pavillion.librarybackend.cache.SharedBookCache;
+import com.pavillion.librarybackend.cache.TwoTierBookCache;
+import com.pavillion.librarybackend.event.RemoteBookChangedEvent;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Wires the two-tier book cache. The shared tier is an in-heap store owned by this context; a
+ * networked store plugs in by returning another {@link SharedBookCache} implementation here.
+ * Peers for invalidation broadcasts are listed as host:port pairs.
+ */
+@Configuration
+public class BookCacheConfig {
+
+    /**
+     * With invalidation peers configured, every process has its own in-heap "shared" tier, which a
+     * lost broadcast leaves as stale as a near cache; its entries then live no longer than the near
+     * cache's, so both tiers bound staleness the same way.
+     */
+    @Bean
+    public SharedBookCache sharedBookCache(
+            @Value("${library.cache.shared.max-entries:100000}") int maxEntries,
+            @Value("${library.cache.shared.ttl-seconds:300}") long ttlSeconds,
+            @Value("${library.cache.near.ttl-seconds:30}") long nearTtlSeconds,
+            @Value("${library.cache.invalidation.port:0}") int port,
+            @Value("${library.cache.invalidation.peers:}") List<String> peers) {
+        boolean separateProcesses = port != 0 && peers.stream().anyMatch(peer -> !peer.isBlank());
+        long effectiveTtlSeconds = separateProcesses ? Math.min(ttlSeconds, nearTtlSeconds) : ttlSeconds;
+        return new InMemorySharedBookCache(maxEntries, Duration.ofSeconds(effectiveTtlSeconds));
+    }
+
+    @Bean
+    public InvalidationBroadcaster invalidationBroadcaster(
+            @Value("${library.cache.invalidation.port:0}") int port,
+            @Value("${library.cache.invalidation.peers:}") List<String> peers,
+            ApplicationEventPublisher eventPublisher) throws IOException {
+        List<InetSocketAddress> peerAddresses = new ArrayList<>();
+        for (String peer : peers) {
+            if (!peer.isBlank()) {
+                int separator = peer.lastIndexOf(':');
+                peerAddresses.add(new InetSocketAddress(peer.substring(0, separator).trim(),
+                        Integer.parseInt(peer.substring(separator + 1).trim())));
+            }
+        }
+        return new InvalidationBroadcaster(port, peerAddresses,
+                (bookId, version) -> eventPublisher.publishEvent(new RemoteBookChangedEvent(bookId, version)));
+    }
+
+    @Bean
+    public TwoTierBookCache twoTierBookCache(
+            @Value("${library.cache.near.max-entries:10000}") int nearMaxEntries,
+            @Value("${library.cache.near.ttl-seconds:30}") long nearTtlSeconds,
+            SharedBookCache sharedBookCache,
+            InvalidationBroadcaster invalidationBroadcaster,
+            MeterRegistry meterRegistry) {
+        return new TwoTierBookCache(nearMaxEntries, Duration.ofSeconds(nearTtlSeconds),
+                sharedBookCache, invalidationBroadcaster, meterRegistry);
+    }
+}
@@ -1,10 +1,14 @@
 package com.pavillion.librarybackend.config;
 
 import com.pavillion.librarybackend.entity.Book;
+import com.pavillion.librarybackend.event.CatalogReloadedEvent;
 import com.pavillion.librarybackend.repository.BookRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.boot.CommandLineRunner;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Async;
 import org.springframework.stereotype.Component;
 
 import java.time.LocalDate;
@@ -13,17 +17,20 @@ import java.util.List;
 /**
  * Optional: Initializes the database with sample data on startup.
  * Useful for testing and demonstration purposes.
+ * Runs asynchronously once the application is ready, so seeding never delays startup.
  * Comment out @Component annotation to disable.
  */
 @Component
 @RequiredArgsConstructor
 @Slf4j
-public class DataInitializer implements CommandLineRunner {
+public class DataInitializer {
 
     private final BookRepository bookRepository;
+    private final ApplicationEventPublisher eventPublisher;
 
-    @Override
-    public void run(String... args) {
+    @Async
+    @EventListener(ApplicationReadyEvent.class)
+    public void run() {
         if (bookRepository.count() == 0) {
             log.info("Initializing database with sample books...");
 
@@ -65,6 +72,7 @@ public class DataInitializer implements CommandLineRunner {
             );
 
             bookRepository.saveAll(sampleBooks);
+            eventPublisher.publishEvent(new CatalogReloadedEvent());
             log.info("Database initialized with {} books", sampleBooks.size());
         } else {
             log.info("Database already contains data. Skipping initialization.");
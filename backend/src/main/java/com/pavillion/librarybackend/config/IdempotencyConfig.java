@@ -0,0 +1,25 @@
+package com.pavillion.librarybackend.config;
+
+import com.pavillion.librarybackend.idempotency.IdempotencyStore;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+/**
+ * Wires the store of responses to write requests sent with an Idempotency-Key.
+ * The ttl should outlast the longest client retry window.
+ */
+@Configuration
+public class IdempotencyConfig {
+
+    @Bean
+    public IdempotencyStore idempotencyStore(
+            @Value("${library.idempotency.max-entries:10000}") int maxEntries,
+            @Value("${library.idempotency.ttl-seconds:86400}") long ttlSeconds,
+            MeterRegistry meterRegistry) {
+        return new IdempotencyStore(maxEntries, Duration.ofSeconds(ttlSeconds), meterRegistry);
+    }
+}
@@ -0,0 +1,94 @@
+package com.pavillion.librarybackend.config;
+
+import com.pavillion.librarybackend.qos.WorkloadClass;
+import com.pavillion.librarybackend.qos.WorkloadClassificationFilter;
+import com.pavillion.librarybackend.qos.WorkloadRoutingDataSource;
+import com.pavillion.librarybackend.qos.WorkloadScheduler;
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Wires interactive/bulk scheduling: request classification, one bounded executor per class,
+ * and a DataSource that partitions connections into one Hikari pool per class.
+ * Each pool is configured under its own prefix, {@code library.qos.interactive.datasource.*} and
+ * {@code library.qos.bulk.datasource.*}, which take any Hikari property; {@code spring.datasource.hikari.*}
+ * does not apply. Hikari pool metrics are published per pool ({@code hikaricp.*}, pool=db-interactive / db-bulk).
+ */
+@Configuration
+public class QosConfig {
+
+    @Bean
+    @ConfigurationProperties("library.qos.interactive.datasource")
+    public HikariConfig interactivePoolConfig(DataSourceProperties properties, MeterRegistry meterRegistry) {
+        return poolConfig(properties, WorkloadClass.INTERACTIVE, 8, meterRegistry);
+    }
+
+    @Bean
+    @ConfigurationProperties("library.qos.bulk.datasource")
+    public HikariConfig bulkPoolConfig(DataSourceProperties properties, MeterRegistry meterRegistry) {
+        return poolConfig(properties, WorkloadClass.BULK, 4, meterRegistry);
+    }
+
+    @Bean
+    public WorkloadRoutingDataSource dataSource(
+            @Qualifier("interactivePoolConfig") HikariConfig interactivePoolConfig,
+            @Qualifier("bulkPoolConfig") HikariConfig bulkPoolConfig) {
+        Map<WorkloadClass, HikariDataSource> pools = new EnumMap<>(WorkloadClass.class);
+        pools.put(WorkloadClass.INTERACTIVE, new HikariDataSource(interactivePoolConfig));
+        pools.put(WorkloadClass.BULK, new HikariDataSource(bulkPoolConfig));
+        return new WorkloadRoutingDataSource(pools);
+    }
+
+    @Bean
+    public WorkloadScheduler workloadScheduler(
+            @Value("${library.qos.interactive.threads:16}") int interactiveThreads,
+            @Value("${library.qos.interactive.queue-capacity:200}") int interactiveQueueCapacity,
+            @Value("${library.qos.bulk.threads:4}") int bulkThreads,
+            @Value("${library.qos.bulk.queue-capacity:50}") int bulkQueueCapacity,
+            MeterRegistry meterRegistry) {
+        Map<WorkloadClass, WorkloadScheduler.Settings> settings = new EnumMap<>(WorkloadClass.class);
+        settings.put(WorkloadClass.INTERACTIVE,
+                new WorkloadScheduler.Settings(interactiveThreads, interactiveQueueCapacity));
+        settings.put(WorkloadClass.BULK,
+                new WorkloadScheduler.Settings(bulkThreads, bulkQueueCapacity));
+        return new WorkloadScheduler(settings, meterRegistry);
+    }
+
+    @Bean
+    public FilterRegistrationBean<WorkloadClassificationFilter> workloadClassificationFilter(
+            @Value("${library.qos.bulk-requests:}") List<String> bulkRequests) {
+        FilterRegistrationBean<WorkloadClassificationFilter> registration =
+                new FilterRegistrationBean<>(new WorkloadClassificationFilter(bulkRequests));
+        registration.addUrlPatterns("/api/*");
+        return registration;
+    }
+
+    /**
+     * Connection settings from {@code spring.datasource.*} and defaults for one class's pool;
+     * the pool's own prefix is bound over these.
+     */
+    private static HikariConfig poolConfig(DataSourceProperties properties, WorkloadClass workload, int size,
+                                           MeterRegistry meterRegistry) {
+        HikariConfig config = new HikariConfig();
+        config.setJdbcUrl(properties.determineUrl());
+        config.setUsername(properties.determineUsername());
+        config.setPassword(properties.determinePassword());
+        config.setDriverClassName(properties.determineDriverClassName());
+        config.setPoolName("db-" + workload.tag());
+        config.setMaximumPoolSize(size);
+        config.setMetricRegistry(meterRegistry);
+        return config;
+    }
+}
@@ -0,0 +1,24 @@
+package com.pavillion.librarybackend.config;
+
+import com.pavillion.librarybackend.tracing.JsonFileSpanExporter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.io.IOException;
+import java.nio.file.Path;
+
+/**
+ * Optional local span export. OTLP export to a collector is configured through
+ * Spring Boot's management.otlp.tracing.endpoint property; both can be active at once.
+ */
+@Configuration
+public class TracingConfig {
+
+    @Bean
+    @ConditionalOnProperty("library.tracing.file")
+    public JsonFileSpanExporter jsonFileSpanExporter(@Value("${library.tracing.file}") Path file) throws IOException {
+        return new JsonFileSpanExporter(file);
+    }
+}
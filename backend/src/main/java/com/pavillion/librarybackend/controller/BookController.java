@@ -1,45 +1,145 @@
 package com.pavillion.librarybackend.controller;
 
 import com.pavillion.librarybackend.dto.BookDTO;
+import com.pavillion.librarybackend.dto.BookPageDTO;
+import com.pavillion.librarybackend.dto.FacetCountDTO;
+import com.pavillion.librarybackend.dto.SimilarBookDTO;
+import com.pavillion.librarybackend.idempotency.IdempotencyStore;
+import com.pavillion.librarybackend.qos.WorkloadScheduler;
+import com.pavillion.librarybackend.service.BookFacetIndex;
+import com.pavillion.librarybackend.service.BookListResponseCache;
+import com.pavillion.librarybackend.service.BookSimilarityIndex;
+import com.pavillion.librarybackend.service.BookSort;
+import io.micrometer.observation.annotation.Observed;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
 import jakarta.validation.Valid;
 
+import java.util.Arrays;
 import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.Collectors;
 
 /**
  * REST Controller exposing Book management endpoints.
  * Uses proper HTTP semantics and status codes.
+ * Writes sent with an Idempotency-Key header are applied at most once; retries get the original response.
  */
 @RestController
 @RequestMapping("/api/books")
 @RequiredArgsConstructor
 @CrossOrigin(origins = "*") // Enable CORS for JavaFX client
+@Observed(name = "book.controller")
 public class BookController {
 
+    private static final String POSSIBLE_DUPLICATES_HEADER = "X-Possible-Duplicates";
+    private static final int MAX_REPORTED_DUPLICATES = 5;
+
     private final com.pavillion.librarybackend.service.BookService bookService;
+    private final BookListResponseCache bookListResponseCache;
+    private final BookFacetIndex bookFacetIndex;
+    private final BookSimilarityIndex bookSimilarityIndex;
+    private final WorkloadScheduler workloadScheduler;
+    private final IdempotencyStore idempotencyStore;
 
     /**
      * POST /api/books - Create a new book
-     * Returns 201 CREATED with the created book in the response body
+     * Returns 201 CREATED with the created book in the response body.
+     * If near-duplicates already exist, their ids are listed in the X-Possible-Duplicates header.
      */
     @PostMapping
-    public ResponseEntity<BookDTO> createBook(@Valid @RequestBody BookDTO bookDTO) {
-        BookDTO created = bookService.createBook(bookDTO);
-        return ResponseEntity.status(HttpStatus.CREATED).body(created);
+    public CompletableFuture<ResponseEntity<BookDTO>> createBook(
+            @Valid @RequestBody BookDTO bookDTO,
+            @RequestHeader(value = IdempotencyStore.IDEMPOTENCY_KEY_HEADER, required = false) String idempotencyKey) {
+        return write(idempotencyKey, fingerprint("POST", null, bookDTO), () -> {
+            BookDTO created = bookService.createBook(bookDTO);
+            ResponseEntity.BodyBuilder response = ResponseEntity.status(HttpStatus.CREATED);
+
+            List<SimilarBookDTO> duplicates = bookSimilarityIndex.findSimilar(
+                    created.getTitle(), created.getAuthor(), created.getId(), MAX_REPORTED_DUPLICATES);
+            if (!duplicates.isEmpty()) {
+                response.header(POSSIBLE_DUPLICATES_HEADER, duplicates.stream()
+                        .map(duplicate -> String.valueOf(duplicate.getBook().getId()))
+                        .collect(Collectors.joining(",")));
+            }
+            return response.body(created);
+        });
     }
 
     /**
      * GET /api/books - Retrieve all books
-     * Returns 200 OK with list of books
+     * Optional sort orders by comma-separated fields, '-' for descending, e.g. sort=author,publishedDate.
+     * Returns 200 OK with list of books, served from the pre-encoded list cache.
+     * Returns 400 BAD REQUEST for a sort order no index supports, naming the supported ones.
+     * Returns 304 NOT MODIFIED when the client's ETag matches the current body.
      */
     @GetMapping
-    public ResponseEntity<List<BookDTO>> getAllBooks() {
-        List<BookDTO> books = bookService.getAllBooks();
-        return ResponseEntity.ok(books);
+    public CompletableFuture<ResponseEntity<byte[]>> getAllBooks(
+            @RequestParam(value = "sort", required = false) String sort,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch,
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding) {
+        return workloadScheduler.submit(() -> {
+            BookListResponseCache.Snapshot books = bookListResponseCache.getAllBooks(BookSort.parse(sort));
+            String etag = books.etag();
+
+            if (etag.equals(ifNoneMatch)) {
+                return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).build();
+            }
+
+            ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .eTag(etag)
+                    .header(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+
+            if (books.gzip() != null && acceptEncoding != null && acceptEncoding.contains("gzip")) {
+                return response.header(HttpHeaders.CONTENT_ENCODING, "gzip").body(books.gzip());
+            }
+            return response.body(books.json());
+        });
+    }
+
+    /**
+     * GET /api/books/page - Retrieve one page of books
+     * Pass the returned nextCursor, with the same sort, to fetch the following page.
+     * Returns 400 BAD REQUEST for an unknown or unindexed sort order, bad size or mismatched cursor.
+     */
+    @GetMapping("/page")
+    public CompletableFuture<ResponseEntity<BookPageDTO>> getBooksPage(
+            @RequestParam(value = "sort", required = false) String sort,
+            @RequestParam(value = "cursor", required = false) String cursor,
+            @RequestParam(value = "size", defaultValue = "50") int size) {
+        return workloadScheduler.submit(() ->
+                ResponseEntity.ok(bookService.getBooksPage(BookSort.parse(sort), cursor, size)));
+    }
+
+    /**
+     * GET /api/books/facets/authors - Count books per author
+     * Optional q narrows the count to books whose title or author contains it.
+     */
+    @GetMapping("/facets/authors")
+    public CompletableFuture<ResponseEntity<List<FacetCountDTO>>> getAuthorFacets(
+            @RequestParam(value = "q", required = false) String query) {
+        return workloadScheduler.submit(() -> ResponseEntity.ok(bookFacetIndex.countByAuthor(query)));
+    }
+
+    /**
+     * GET /api/books/facets/years - Publication histogram per year, or per decade
+     * with granularity=decade. Optional q filters as for author facets.
+     */
+    @GetMapping("/facets/years")
+    public CompletableFuture<ResponseEntity<List<FacetCountDTO>>> getPublishedYearFacets(
+            @RequestParam(value = "q", required = false) String query,
+            @RequestParam(value = "granularity", defaultValue = "year") String granularity) {
+        return workloadScheduler.submit(() -> {
+            boolean byDecade = "decade".equalsIgnoreCase(granularity);
+            return ResponseEntity.ok(bookFacetIndex.countByPublishedYear(query, byDecade));
+        });
     }
 
     /**
@@ -47,9 +147,35 @@ public class BookController {
      * Returns 200 OK if found, 404 NOT FOUND otherwise
      */
     @GetMapping("/{id}")
-    public ResponseEntity<BookDTO> getBookById(@PathVariable Long id) {
-        BookDTO book = bookService.getBookById(id);
-        return ResponseEntity.ok(book);
+    public CompletableFuture<ResponseEntity<BookDTO>> getBookById(@PathVariable Long id) {
+        return workloadScheduler.submit(() -> {
+            BookDTO book = bookService.getBookById(id);
+            return ResponseEntity.ok(book);
+        });
+    }
+
+    /**
+     * GET /api/books/{id}/similar - Likely duplicates of a book by title and author
+     * Returns 200 OK with matches, most similar first, or 404 NOT FOUND
+     */
+    @GetMapping("/{id}/similar")
+    public CompletableFuture<ResponseEntity<List<SimilarBookDTO>>> getSimilarBooks(
+            @PathVariable Long id,
+            @RequestParam(value = "limit", defaultValue = "10") int limit) {
+        return workloadScheduler.submit(() ->
+                ResponseEntity.ok(bookSimilarityIndex.findSimilar(id, Math.max(1, Math.min(limit, 100)))));
+    }
+
+    /**
+     * GET /api/books/isbn/{isbn} - Retrieve a specific book by ISBN
+     * Returns 200 OK if found, 404 NOT FOUND otherwise
+     */
+    @GetMapping("/isbn/{isbn}")
+    public CompletableFuture<ResponseEntity<BookDTO>> getBookByIsbn(@PathVariable String isbn) {
+        return workloadScheduler.submit(() -> {
+            BookDTO book = bookService.getBookByIsbn(isbn);
+            return ResponseEntity.ok(book);
+        });
     }
 
     /**
@@ -57,11 +183,14 @@ public class BookController {
      * Returns 200 OK with updated book
      */
     @PutMapping("/{id}")
-    public ResponseEntity<BookDTO> updateBook(
+    public CompletableFuture<ResponseEntity<BookDTO>> updateBook(
             @PathVariable Long id,
-            @Valid @RequestBody BookDTO bookDTO) {
-        BookDTO updated = bookService.updateBook(id, bookDTO);
-        return ResponseEntity.ok(updated);
+            @Valid @RequestBody BookDTO bookDTO,
+            @RequestHeader(value = IdempotencyStore.IDEMPOTENCY_KEY_HEADER, required = false) String idempotencyKey) {
+        return write(idempotencyKey, fingerprint("PUT", id, bookDTO), () -> {
+            BookDTO updated = bookService.updateBook(id, bookDTO);
+            return ResponseEntity.ok(updated);
+        });
     }
 
     /**
@@ -69,8 +198,37 @@ public class BookController {
      * Returns 204 NO CONTENT on successful deletion
      */
     @DeleteMapping("/{id}")
-    public ResponseEntity<Void> deleteBook(@PathVariable Long id) {
-        bookService.deleteBook(id);
-        return ResponseEntity.noContent().build();
+    public CompletableFuture<ResponseEntity<Void>> deleteBook(
+            @PathVariable Long id,
+            @RequestHeader(value = IdempotencyStore.IDEMPOTENCY_KEY_HEADER, required = false) String idempotencyKey) {
+        return write(idempotencyKey, fingerprint("DELETE", id, null), () -> {
+            bookService.deleteBook(id);
+            return ResponseEntity.noContent().build();
+        });
+    }
+
+    // Helper methods
+
+    /**
+     * Runs a write on the scheduler; with an idempotency key, a replay returns the stored
+     * response without being scheduled at all.
+     */
+    private <T> CompletableFuture<ResponseEntity<T>> write(String idempotencyKey, List<Object> fingerprint,
+                                                           Callable<ResponseEntity<T>> handler) {
+        if (idempotencyKey == null) {
+            return workloadScheduler.submit(handler);
+        }
+        return idempotencyStore.execute(idempotencyKey, fingerprint, () -> workloadScheduler.submit(handler));
+    }
+
+    /**
+     * Identifies a write by operation, target and payload, copied before the service canonicalizes the payload.
+     */
+    private static List<Object> fingerprint(String operation, Long id, BookDTO book) {
+        if (book == null) {
+            return Arrays.asList(operation, id);
+        }
+        return Arrays.asList(operation, id,
+                book.getTitle(), book.getAuthor(), book.getIsbn(), book.getPublishedDate());
     }
 }
\ No newline at end of file
@@ -0,0 +1,59 @@
+package com.pavillion.librarybackend.controller;
+
+import com.pavillion.librarybackend.dto.ExportJobDTO;
+import com.pavillion.librarybackend.export.CatalogExportService;
+import com.pavillion.librarybackend.export.ExportFormat;
+import com.pavillion.librarybackend.qos.WorkloadScheduler;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.net.URI;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * REST Controller for bulk catalog exports.
+ * Exports run in the background; clients poll the job for progress.
+ */
+@RestController
+@RequestMapping("/api/exports")
+@RequiredArgsConstructor
+@CrossOrigin(origins = "*")
+public class ExportController {
+
+    private final CatalogExportService catalogExportService;
+    private final WorkloadScheduler workloadScheduler;
+
+    /**
+     * POST /api/exports?format=csv|columnar - Start a full catalog export
+     * Returns 202 ACCEPTED with the job, and its status URL in the Location header
+     */
+    @PostMapping
+    public CompletableFuture<ResponseEntity<ExportJobDTO>> startExport(
+            @RequestParam(value = "format", defaultValue = "csv") String format) {
+        ExportFormat exportFormat = ExportFormat.parse(format);
+        return workloadScheduler.submit(() -> accepted(catalogExportService.startExport(exportFormat)));
+    }
+
+    /**
+     * POST /api/exports/{id}/resume - Continue an interrupted or failed export
+     * Returns 202 ACCEPTED, or 404 NOT FOUND for an unknown export
+     */
+    @PostMapping("/{id}/resume")
+    public CompletableFuture<ResponseEntity<ExportJobDTO>> resumeExport(@PathVariable String id) {
+        return workloadScheduler.submit(() -> accepted(catalogExportService.resumeExport(id)));
+    }
+
+    /**
+     * GET /api/exports/{id} - Progress of an export started since the last restart
+     * Returns 200 OK, or 404 NOT FOUND for an unknown export
+     */
+    @GetMapping("/{id}")
+    public CompletableFuture<ResponseEntity<ExportJobDTO>> getExport(@PathVariable String id) {
+        return workloadScheduler.submit(() -> ResponseEntity.ok(catalogExportService.getExport(id)));
+    }
+
+    private static ResponseEntity<ExportJobDTO> accepted(ExportJobDTO job) {
+        return ResponseEntity.accepted().location(URI.create("/api/exports/" + job.getId())).body(job);
+    }
+}
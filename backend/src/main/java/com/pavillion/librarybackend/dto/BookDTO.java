@@ -1,5 +1,6 @@
 package com.pavillion.librarybackend.dto;
 
+import com.pavillion.librarybackend.validation.ValidIsbn;
 import jakarta.validation.constraints.*;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
@@ -29,8 +30,7 @@ public class BookDTO {
     private String author;
 
     @NotBlank(message = "ISBN is required")
-    @Pattern(regexp = "^(?:\\d{10}|\\d{13})$",
-            message = "ISBN must be 10 or 13 digits")
+    @ValidIsbn
     private String isbn;
 
     @PastOrPresent(message = "Published date cannot be in the future")
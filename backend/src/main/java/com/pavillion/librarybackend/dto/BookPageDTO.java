@@ -0,0 +1,21 @@
+package com.pavillion.librarybackend.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * One page of a keyset-paginated book listing.
+ * {@code nextCursor} is passed back to fetch the following page and is null on the last page.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BookPageDTO {
+
+    private List<BookDTO> books;
+
+    private String nextCursor;
+}
@@ -0,0 +1,42 @@
+package com.pavillion.librarybackend.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Progress of a catalog export job.
+ * Row counts and throughput cover the current run only; chunks finished by an
+ * earlier run are reported as skipped.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ExportJobDTO {
+
+    private String id;
+
+    private String format;
+
+    /** RUNNING, COMPLETED or FAILED. */
+    private String state;
+
+    /** Directory of the chunk files, relative to the configured export root. */
+    private String directory;
+
+    private int chunkCount;
+
+    private int chunksWritten;
+
+    private int chunksSkipped;
+
+    private long rowsExported;
+
+    private long elapsedMillis;
+
+    private long rowsPerSecond;
+
+    private String error;
+}
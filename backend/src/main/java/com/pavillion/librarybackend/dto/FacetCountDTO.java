@@ -0,0 +1,18 @@
+package com.pavillion.librarybackend.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * A single facet bucket: a grouping value (author, year or decade) and how many books fall in it.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class FacetCountDTO {
+
+    private String value;
+
+    private long count;
+}
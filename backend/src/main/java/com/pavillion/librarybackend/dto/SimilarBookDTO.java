@@ -0,0 +1,19 @@
+package com.pavillion.librarybackend.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * A book similar to the one queried, with the Jaccard similarity (0 to 1) of their
+ * normalized title and author shingles.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class SimilarBookDTO {
+
+    private BookDTO book;
+
+    private double similarity;
+}
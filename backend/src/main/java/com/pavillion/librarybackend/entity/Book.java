@@ -5,6 +5,8 @@ import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 import java.time.LocalDate;
 
@@ -13,13 +15,31 @@ import java.time.LocalDate;
  * Uses Lombok to reduce boilerplate code.
  */
 @Entity
-@Table(name = "books")
+@Table(name = "books", indexes = {
+        // One index per supported sort order (BookSort.INDEXED_ORDERS), each ending in a unique
+        // column, so keyset pages are read in index order without a sort step. H2 does not scan
+        // an index backwards, so descending orders need their own index. Sorts on a leading
+        // prefix, such as title alone, use the longer index. Ascending id and isbn use the
+        // primary key and the unique constraint.
+        @Index(name = "idx_books_title_author_date_id", columnList = "title, author, published_date, id desc"),
+        @Index(name = "idx_books_title_author_date_id_desc",
+                columnList = "title desc, author desc, published_date desc, id"),
+        @Index(name = "idx_books_author_date_id", columnList = "author, published_date, id"),
+        @Index(name = "idx_books_author_date_id_desc", columnList = "author desc, published_date desc, id desc"),
+        @Index(name = "idx_books_published_date_id", columnList = "published_date, id"),
+        @Index(name = "idx_books_published_date_id_desc", columnList = "published_date desc, id desc"),
+        @Index(name = "idx_books_isbn_desc", columnList = "isbn desc"),
+        @Index(name = "idx_books_id_desc", columnList = "id desc")
+})
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
 @Builder
 public class Book {
 
+    // The perf profile overrides this with a pooled sequence in orm-perf.xml
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
@@ -35,4 +55,8 @@ public class Book {
 
     @Column(name = "published_date")
     private LocalDate publishedDate;
+
+    /** Optimistic-lock version; also orders cached copies of the book across instances. */
+    @Version
+    private Long version;
 }
\ No newline at end of file
@@ -0,0 +1,15 @@
+package com.pavillion.librarybackend.event;
+
+import com.pavillion.librarybackend.dto.BookDTO;
+
+/**
+ * Published by the service layer whenever a book is created, updated or deleted.
+ * Carries the committed state of the book and its entity version, or a {@code null}
+ * book when it was deleted.
+ */
+public record BookChangedEvent(Long bookId, BookDTO book, long version) {
+
+    public boolean isDeletion() {
+        return book == null;
+    }
+}
@@ -0,0 +1,7 @@
+package com.pavillion.librarybackend.event;
+
+/**
+ * Published after books were written in bulk outside the service layer, e.g. by seeding.
+ * Listeners should treat any derived view of the catalog as fully stale.
+ */
+public record CatalogReloadedEvent() {}
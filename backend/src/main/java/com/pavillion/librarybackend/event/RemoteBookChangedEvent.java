@@ -0,0 +1,7 @@
+package com.pavillion.librarybackend.event;
+
+/**
+ * Published when another backend instance reports a committed change to a book.
+ * Copies of the book older than {@code version} are stale; {@link Long#MAX_VALUE} means it was deleted.
+ */
+public record RemoteBookChangedEvent(long bookId, long version) {}
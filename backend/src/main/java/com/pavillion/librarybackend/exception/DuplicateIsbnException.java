@@ -1,7 +1,25 @@
 package com.pavillion.librarybackend.exception;
 
+/**
+ * Thrown when a write would create a second book with the same ISBN.
+ * Retrying integrations hit this often, so it captures no stack trace
+ * and builds its message only if it is actually read.
+ */
 public class DuplicateIsbnException extends RuntimeException {
-    public DuplicateIsbnException(String message) {
-        super(message);
+
+    private final String isbn;
+
+    public DuplicateIsbnException(String isbn) {
+        super(null, null, false, false);
+        this.isbn = isbn;
+    }
+
+    public String getIsbn() {
+        return isbn;
+    }
+
+    @Override
+    public String getMessage() {
+        return "ISBN already exists: " + isbn;
     }
 }
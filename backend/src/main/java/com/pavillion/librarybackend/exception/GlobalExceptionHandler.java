@@ -1,6 +1,9 @@
 package com.pavillion.librarybackend.exception;
 
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.FieldError;
 import org.springframework.web.bind.MethodArgumentNotValidException;
@@ -41,13 +44,34 @@ public class GlobalExceptionHandler {
         return ResponseEntity.badRequest().body(response);
     }
 
+    /**
+     * Handles malformed query parameters such as an unknown sort field, and malformed idempotency keys.
+     * Returns 400 BAD REQUEST.
+     */
+    @ExceptionHandler(InvalidQueryParameterException.class)
+    public ResponseEntity<ErrorResponse> handleInvalidQueryParameter(
+            InvalidQueryParameterException ex) {
+        ErrorResponse response = new ErrorResponse(
+                HttpStatus.BAD_REQUEST.value(),
+                ex.getMessage(),
+                null,
+                LocalDateTime.now()
+        );
+        return ResponseEntity.badRequest().body(response);
+    }
+
     /**
      * Handles resource not found exceptions.
-     * Returns 404 NOT FOUND.
+     * Returns 404 NOT FOUND, pre-serialized for missing book ids.
      */
     @ExceptionHandler(ResourceNotFoundException.class)
-    public ResponseEntity<ErrorResponse> handleResourceNotFound(
+    public ResponseEntity<?> handleResourceNotFound(
             ResourceNotFoundException ex) {
+        if (ex.getBookId() != null) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND)
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .body(StaticErrorBodies.notFound(ex.getBookId(), LocalDateTime.now()));
+        }
         ErrorResponse response = new ErrorResponse(
                 HttpStatus.NOT_FOUND.value(),
                 ex.getMessage(),
@@ -59,11 +83,17 @@ public class GlobalExceptionHandler {
 
     /**
      * Handles duplicate ISBN exceptions.
-     * Returns 409 CONFLICT.
+     * Returns 409 CONFLICT, pre-serialized for well-formed ISBNs.
      */
     @ExceptionHandler(DuplicateIsbnException.class)
-    public ResponseEntity<ErrorResponse> handleDuplicateIsbn(
+    public ResponseEntity<?> handleDuplicateIsbn(
             DuplicateIsbnException ex) {
+        byte[] body = StaticErrorBodies.duplicateIsbn(ex.getIsbn(), LocalDateTime.now());
+        if (body != null) {
+            return ResponseEntity.status(HttpStatus.CONFLICT)
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .body(body);
+        }
         ErrorResponse response = new ErrorResponse(
                 HttpStatus.CONFLICT.value(),
                 ex.getMessage(),
@@ -73,6 +103,71 @@ public class GlobalExceptionHandler {
         return ResponseEntity.status(HttpStatus.CONFLICT).body(response);
     }
 
+    /**
+     * Handles concurrent updates to the same book; the losing writer should re-read and retry.
+     * Returns 409 CONFLICT.
+     */
+    @ExceptionHandler(OptimisticLockingFailureException.class)
+    public ResponseEntity<ErrorResponse> handleOptimisticLockingFailure(
+            OptimisticLockingFailureException ex) {
+        ErrorResponse response = new ErrorResponse(
+                HttpStatus.CONFLICT.value(),
+                "Book was modified concurrently, please retry",
+                null,
+                LocalDateTime.now()
+        );
+        return ResponseEntity.status(HttpStatus.CONFLICT).body(response);
+    }
+
+    /**
+     * Handles writes rejected by a database constraint, such as the unique ISBN index when two
+     * instances create the same ISBN at once and both pass the up-front uniqueness check.
+     * Returns 409 CONFLICT.
+     */
+    @ExceptionHandler(DataIntegrityViolationException.class)
+    public ResponseEntity<ErrorResponse> handleDataIntegrityViolation(
+            DataIntegrityViolationException ex) {
+        ErrorResponse response = new ErrorResponse(
+                HttpStatus.CONFLICT.value(),
+                "Book conflicts with an existing book, such as one with the same ISBN",
+                null,
+                LocalDateTime.now()
+        );
+        return ResponseEntity.status(HttpStatus.CONFLICT).body(response);
+    }
+
+    /**
+     * Handles an idempotency key replayed with a different request than the one it was first used for.
+     * Returns 422 UNPROCESSABLE ENTITY.
+     */
+    @ExceptionHandler(IdempotencyKeyMismatchException.class)
+    public ResponseEntity<ErrorResponse> handleIdempotencyKeyMismatch(
+            IdempotencyKeyMismatchException ex) {
+        ErrorResponse response = new ErrorResponse(
+                HttpStatus.UNPROCESSABLE_ENTITY.value(),
+                ex.getMessage(),
+                null,
+                LocalDateTime.now()
+        );
+        return ResponseEntity.status(HttpStatus.UNPROCESSABLE_ENTITY).body(response);
+    }
+
+    /**
+     * Handles requests that gave up waiting on a shared backend call.
+     * Returns 503 SERVICE UNAVAILABLE.
+     */
+    @ExceptionHandler(ServiceUnavailableException.class)
+    public ResponseEntity<ErrorResponse> handleServiceUnavailable(
+            ServiceUnavailableException ex) {
+        ErrorResponse response = new ErrorResponse(
+                HttpStatus.SERVICE_UNAVAILABLE.value(),
+                ex.getMessage(),
+                null,
+                LocalDateTime.now()
+        );
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).body(response);
+    }
+
     /**
      * Catch-all handler for unexpected exceptions.
      * Returns 500 INTERNAL SERVER ERROR.
@@ -1,7 +1,37 @@
 package com.pavillion.librarybackend.exception;
 
+/**
+ * Thrown when a requested resource does not exist.
+ * Probes for missing ids are frequent and expected, so this exception captures no stack trace
+ * and, when created for a book id, builds its message only if it is actually read.
+ */
 public class ResourceNotFoundException extends RuntimeException {
+
+    private final Long bookId;
+
     public ResourceNotFoundException(String message) {
-        super(message);
+        super(message, null, false, false);
+        this.bookId = null;
+    }
+
+    private ResourceNotFoundException(Long bookId) {
+        super(null, null, false, false);
+        this.bookId = bookId;
+    }
+
+    public static ResourceNotFoundException forBookId(Long id) {
+        return new ResourceNotFoundException(id);
+    }
+
+    /**
+     * The missing book's id, or {@code null} if the exception was created with a free-form message.
+     */
+    public Long getBookId() {
+        return bookId;
+    }
+
+    @Override
+    public String getMessage() {
+        return bookId != null ? "Book not found with id: " + bookId : super.getMessage();
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,67 @@
+package com.pavillion.librarybackend.exception;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+
+/**
+ * Pre-serialized JSON for the high-rate 404 and 409 responses.
+ * Produces exactly what Jackson would write for an {@link GlobalExceptionHandler.ErrorResponse},
+ * but by splicing the variable parts between constant byte fragments instead of
+ * serializing a fresh record per error.
+ */
+final class StaticErrorBodies {
+
+    private static final byte[] NOT_FOUND_PREFIX = ascii("{\"status\":404,\"message\":\"Book not found with id: ");
+    private static final byte[] DUPLICATE_ISBN_PREFIX = ascii("{\"status\":409,\"message\":\"ISBN already exists: ");
+    private static final byte[] TIMESTAMP_INFIX = ascii("\",\"errors\":null,\"timestamp\":\"");
+    private static final byte[] SUFFIX = ascii("\"}");
+
+    private StaticErrorBodies() {}
+
+    static byte[] notFound(long bookId, LocalDateTime timestamp) {
+        return assemble(NOT_FOUND_PREFIX, Long.toString(bookId), timestamp);
+    }
+
+    /**
+     * Returns null if the ISBN contains characters that would need JSON escaping;
+     * callers then fall back to regular serialization.
+     */
+    static byte[] duplicateIsbn(String isbn, LocalDateTime timestamp) {
+        for (int i = 0; i < isbn.length(); i++) {
+            char c = isbn.charAt(i);
+            if (!(c >= '0' && c <= '9') && c != 'X' && c != 'x' && c != '-' && c != ' ') {
+                return null;
+            }
+        }
+        return assemble(DUPLICATE_ISBN_PREFIX, isbn, timestamp);
+    }
+
+    private static byte[] assemble(byte[] prefix, String value, LocalDateTime timestamp) {
+        // Same format as Jackson's LocalDateTimeSerializer
+        String time = DateTimeFormatter.ISO_LOCAL_DATE_TIME.format(timestamp);
+        byte[] body = new byte[prefix.length + value.length() + TIMESTAMP_INFIX.length + time.length() + SUFFIX.length];
+        int pos = copy(prefix, body, 0);
+        pos = copyAscii(value, body, pos);
+        pos = copy(TIMESTAMP_INFIX, body, pos);
+        pos = copyAscii(time, body, pos);
+        copy(SUFFIX, body, pos);
+        return body;
+    }
+
+    private static int copy(byte[] source, byte[] target, int pos) {
+        System.arraycopy(source, 0, target, pos, source.length);
+        return pos + source.length;
+    }
+
+    private static int copyAscii(String source, byte[] target, int pos) {
+        for (int i = 0; i < source.length(); i++) {
+            target[pos++] = (byte) source.charAt(i);
+        }
+        return pos;
+    }
+
+    private static byte[] ascii(String value) {
+        return value.getBytes(StandardCharsets.US_ASCII);
+    }
+}
@@ -0,0 +1,262 @@
+package com.pavillion.librarybackend.export;
+
+import com.pavillion.librarybackend.dto.ExportJobDTO;
+import com.pavillion.librarybackend.exception.ResourceNotFoundException;
+import com.pavillion.librarybackend.qos.WorkloadClass;
+import com.pavillion.librarybackend.qos.WorkloadContext;
+import com.pavillion.librarybackend.repository.BookRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.regex.Pattern;
+import java.util.stream.IntStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Bulk export of the whole catalog to gzip-compressed chunk files, one per id range.
+ * <p>
+ * Ranges are read in parallel on a small fork-join pool, each as one streaming JDBC query
+ * with a bounded fetch size on the bulk connection pool, and written through a
+ * {@link FileChannel}. Heap use is bounded by the pool size times one chunk's buffers,
+ * independent of the catalog size.
+ * <p>
+ * Each chunk is written to a {@code .part} file, forced to disk and atomically renamed when
+ * complete, so a resumed export only redoes the chunks that were missing or interrupted.
+ * Chunks are not read from one snapshot: rows changed while the export runs may appear in
+ * either state.
+ */
+@Service
+@Slf4j
+public class CatalogExportService {
+
+    private static final String EXPORT_SQL =
+            "SELECT id, title, author, isbn, published_date FROM books WHERE id BETWEEN ? AND ? ORDER BY id";
+    private static final Pattern EXPORT_ID = Pattern.compile("[A-Za-z0-9-]{1,64}");
+    private static final DateTimeFormatter EXPORT_ID_TIME = DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss");
+    private static final int WRITE_BUFFER_BYTES = 1 << 16;
+
+    private final BookRepository bookRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final TaskExecutor taskExecutor;
+    private final Path exportRoot;
+    private final long chunkSize;
+    private final int parallelism;
+
+    private final Map<String, ExportJob> jobs = new ConcurrentHashMap<>();
+
+    public CatalogExportService(
+            BookRepository bookRepository,
+            DataSource dataSource,
+            @Qualifier("applicationTaskExecutor") TaskExecutor taskExecutor,
+            @Value("${library.export.dir:exports}") Path exportRoot,
+            @Value("${library.export.chunk-size:50000}") long chunkSize,
+            @Value("${library.export.fetch-size:1000}") int fetchSize,
+            @Value("${library.export.parallelism:4}") int parallelism,
+            @Value("${library.qos.bulk.datasource.maximum-pool-size:4}") int bulkPoolSize) {
+        this.bookRepository = bookRepository;
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.jdbcTemplate.setFetchSize(fetchSize);
+        this.taskExecutor = taskExecutor;
+        this.exportRoot = exportRoot;
+        this.chunkSize = chunkSize;
+        // Each chunk holds a bulk connection for its whole query, so more workers than connections would only wait
+        this.parallelism = Math.max(1, Math.min(Math.min(parallelism, bulkPoolSize),
+                Runtime.getRuntime().availableProcessors()));
+    }
+
+    /**
+     * Plans a new export over the current id range and starts it in the background.
+     */
+    public ExportJobDTO startExport(ExportFormat format) {
+        String id = "catalog-" + LocalDateTime.now().format(EXPORT_ID_TIME)
+                + "-" + UUID.randomUUID().toString().substring(0, 8);
+        Path directory = exportRoot.resolve(id);
+        ExportManifest manifest = ExportManifest.plan(
+                format, bookRepository.findMinId(), bookRepository.findMaxId(), chunkSize);
+        try {
+            Files.createDirectories(directory);
+            manifest.write(directory);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return submit(new ExportJob(id, directory, manifest));
+    }
+
+    /**
+     * Restarts an unfinished export from its manifest, skipping chunks already written.
+     * Resuming a running export just reports its progress.
+     */
+    public ExportJobDTO resumeExport(String id) {
+        ExportJob running = jobs.get(id);
+        if (running != null && running.state == State.RUNNING) {
+            return running.toDTO();
+        }
+        Path directory = directoryOf(id);
+        try {
+            return submit(new ExportJob(id, directory, ExportManifest.read(directory)));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    public ExportJobDTO getExport(String id) {
+        ExportJob job = jobs.get(id);
+        if (job == null) {
+            throw new ResourceNotFoundException("Export not found: " + id);
+        }
+        return job.toDTO();
+    }
+
+    // Helper methods
+
+    private ExportJobDTO submit(ExportJob job) {
+        ExportJob current = jobs.compute(job.id, (id, existing) ->
+                existing != null && existing.state == State.RUNNING ? existing : job);
+        if (current == job) {
+            taskExecutor.execute(() -> run(job));
+        }
+        return current.toDTO();
+    }
+
+    private void run(ExportJob job) {
+        ExportManifest manifest = job.manifest;
+        ForkJoinPool pool = new ForkJoinPool(parallelism);
+        try {
+            pool.submit(() -> IntStream.range(0, manifest.chunkCount()).parallel()
+                    .forEach(chunk -> WorkloadContext.run(WorkloadClass.BULK,
+                            () -> exportChunk(job, chunk)))).join();
+            job.finish(State.COMPLETED, null);
+            log.info("Export {} completed: {} rows in {} chunks ({} already written), {} rows/s",
+                    job.id, job.rows.sum(), job.chunksWritten.get(), job.chunksSkipped.get(), job.rowsPerSecond());
+        } catch (RuntimeException e) {
+            job.finish(State.FAILED, e.getMessage());
+            log.error("Export {} failed after {} chunks; resume it to continue", job.id, job.chunksWritten.get(), e);
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    private void exportChunk(ExportJob job, int chunk) {
+        ExportManifest manifest = job.manifest;
+        Path target = job.directory.resolve(manifest.chunkFileName(chunk));
+        if (Files.exists(target)) {
+            job.chunksSkipped.incrementAndGet();
+            return;
+        }
+
+        Path temp = target.resolveSibling(target.getFileName() + ".part");
+        long[] rows = new long[1];
+        try {
+            FileChannel channel = FileChannel.open(temp,
+                    StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE);
+            // Closing the writer finishes the gzip stream and closes the channel
+            try (ChunkWriter writer = manifest.format().newWriter(
+                    new GZIPOutputStream(Channels.newOutputStream(channel), WRITE_BUFFER_BYTES))) {
+                jdbcTemplate.query(EXPORT_SQL, resultSet -> {
+                    try {
+                        writer.append(resultSet.getLong(1), resultSet.getString(2), resultSet.getString(3),
+                                resultSet.getString(4), resultSet.getObject(5, LocalDate.class));
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                    rows[0]++;
+                }, manifest.firstId(chunk), manifest.lastId(chunk));
+            }
+            ExportFiles.publish(temp, target);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        job.rows.add(rows[0]);
+        job.chunksWritten.incrementAndGet();
+    }
+
+    private Path directoryOf(String id) {
+        if (!EXPORT_ID.matcher(id).matches()
+                || !Files.exists(exportRoot.resolve(id).resolve(ExportManifest.FILE_NAME))) {
+            throw new ResourceNotFoundException("Export not found: " + id);
+        }
+        return exportRoot.resolve(id);
+    }
+
+    private enum State {
+        RUNNING, COMPLETED, FAILED
+    }
+
+    /**
+     * Live progress of one run of an export.
+     */
+    private static final class ExportJob {
+
+        private final String id;
+        private final Path directory;
+        private final ExportManifest manifest;
+        private final long startedNanos = System.nanoTime();
+
+        private final LongAdder rows = new LongAdder();
+        private final AtomicInteger chunksWritten = new AtomicInteger();
+        private final AtomicInteger chunksSkipped = new AtomicInteger();
+
+        private volatile State state = State.RUNNING;
+        private volatile long finishedNanos;
+        private volatile String error;
+
+        ExportJob(String id, Path directory, ExportManifest manifest) {
+            this.id = id;
+            this.directory = directory;
+            this.manifest = manifest;
+        }
+
+        void finish(State finalState, String failure) {
+            finishedNanos = System.nanoTime();
+            error = failure;
+            state = finalState;
+        }
+
+        long elapsedNanos() {
+            return (state == State.RUNNING ? System.nanoTime() : finishedNanos) - startedNanos;
+        }
+
+        long rowsPerSecond() {
+            long elapsed = elapsedNanos();
+            return elapsed == 0 ? 0 : rows.sum() * TimeUnit.SECONDS.toNanos(1) / elapsed;
+        }
+
+        ExportJobDTO toDTO() {
+            return ExportJobDTO.builder()
+                    .id(id)
+                    .format(manifest.format().name())
+                    .state(state.name())
+                    .directory(directory.getFileName().toString())
+                    .chunkCount(manifest.chunkCount())
+                    .chunksWritten(chunksWritten.get())
+                    .chunksSkipped(chunksSkipped.get())
+                    .rowsExported(rows.sum())
+                    .elapsedMillis(TimeUnit.NANOSECONDS.toMillis(elapsedNanos()))
+                    .rowsPerSecond(rowsPerSecond())
+                    .error(error)
+                    .build();
+        }
+    }
+}
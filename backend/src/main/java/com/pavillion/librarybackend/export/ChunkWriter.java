@@ -0,0 +1,14 @@
+package com.pavillion.librarybackend.export;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.time.LocalDate;
+
+/**
+ * Writes the rows of one export chunk, in id order, to an already compressed stream.
+ * {@link #close()} completes the chunk and closes the stream.
+ */
+interface ChunkWriter extends Closeable {
+
+    void append(long id, String title, String author, String isbn, LocalDate publishedDate) throws IOException;
+}
@@ -0,0 +1,131 @@
+package com.pavillion.librarybackend.export;
+
+import com.pavillion.librarybackend.catalog.StringDictionary;
+import com.pavillion.librarybackend.validation.Isbn;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+
+/**
+ * Compact column-oriented chunk format. Values of one column are stored together,
+ * which compresses far better than interleaved rows and lets readers skip columns.
+ * <p>
+ * Layout, with all integers as unsigned LEB128 varints ("varint"):
+ * <pre>
+ *   magic   "LBCOL1"
+ *   varint  row count
+ *   5 x (varint byte length, column bytes), in this order:
+ *     id              delta from the previous id (first from 0)
+ *     title           varint UTF-8 length + bytes per row
+ *     author          varint dictionary size, dictionary entries (varint length + UTF-8),
+ *                     then one varint code per row
+ *     isbn            varint 0 for null, 1 + ISBN-13 as a number, or
+ *                     1 + 10^13 followed by varint length + UTF-8 for non-ISBN values
+ *     published_date  varint 0 for null, else 1 + zigzag-encoded epoch day
+ * </pre>
+ * A chunk's columns are buffered in memory until {@link #close()}, so heap use is
+ * bounded by the chunk size rather than the catalog size.
+ */
+class ColumnarChunkWriter implements ChunkWriter {
+
+    static final byte[] MAGIC = "LBCOL1".getBytes(StandardCharsets.US_ASCII);
+
+    private static final long RAW_ISBN = 10_000_000_000_000L;
+
+    private final OutputStream out;
+    private final StringDictionary authors = new StringDictionary();
+
+    private final ColumnBuffer ids = new ColumnBuffer();
+    private final ColumnBuffer titles = new ColumnBuffer();
+    private final ColumnBuffer authorCodes = new ColumnBuffer();
+    private final ColumnBuffer isbns = new ColumnBuffer();
+    private final ColumnBuffer publishedDates = new ColumnBuffer();
+
+    private long previousId;
+    private int rowCount;
+
+    ColumnarChunkWriter(OutputStream out) {
+        this.out = out;
+    }
+
+    @Override
+    public void append(long id, String title, String author, String isbn, LocalDate publishedDate) {
+        ids.writeVarLong(id - previousId);
+        previousId = id;
+        titles.writeString(title);
+        authorCodes.writeVarLong(authors.encode(author));
+
+        String isbn13 = Isbn.toIsbn13(isbn);
+        if (isbn == null) {
+            isbns.writeVarLong(0);
+        } else if (isbn13 != null) {
+            isbns.writeVarLong(1 + Long.parseLong(isbn13));
+        } else {
+            isbns.writeVarLong(1 + RAW_ISBN);
+            isbns.writeString(isbn);
+        }
+
+        if (publishedDate == null) {
+            publishedDates.writeVarLong(0);
+        } else {
+            long epochDay = publishedDate.toEpochDay();
+            publishedDates.writeVarLong(1 + ((epochDay << 1) ^ (epochDay >> 63)));
+        }
+        rowCount++;
+    }
+
+    @Override
+    public void close() throws IOException {
+        try (out) {
+            ColumnBuffer dictionary = new ColumnBuffer();
+            dictionary.writeVarLong(authors.size());
+            for (int code = 0; code < authors.size(); code++) {
+                dictionary.writeString(authors.decode(code));
+            }
+
+            ColumnBuffer header = new ColumnBuffer();
+            header.writeBytes(MAGIC);
+            header.writeVarLong(rowCount);
+            header.writeTo(out);
+            writeColumn(ids);
+            writeColumn(titles);
+            header.reset();
+            header.writeVarLong(dictionary.size() + authorCodes.size());
+            header.writeTo(out);
+            dictionary.writeTo(out);
+            authorCodes.writeTo(out);
+            writeColumn(isbns);
+            writeColumn(publishedDates);
+        }
+    }
+
+    private void writeColumn(ColumnBuffer column) throws IOException {
+        ColumnBuffer length = new ColumnBuffer();
+        length.writeVarLong(column.size());
+        length.writeTo(out);
+        column.writeTo(out);
+    }
+
+    /**
+     * Growable byte buffer with varint and string encoding.
+     */
+    private static final class ColumnBuffer extends ByteArrayOutputStream {
+
+        void writeVarLong(long value) {
+            while ((value & ~0x7FL) != 0) {
+                write((int) ((value & 0x7F) | 0x80));
+                value >>>= 7;
+            }
+            write((int) value);
+        }
+
+        void writeString(String value) {
+            byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+            writeVarLong(bytes.length);
+            write(bytes, 0, bytes.length);
+        }
+    }
+}
@@ -0,0 +1,64 @@
+package com.pavillion.librarybackend.export;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+
+/**
+ * Streams rows as RFC 4180 CSV; nothing beyond the write buffer is held in memory.
+ */
+class CsvChunkWriter implements ChunkWriter {
+
+    private static final String HEADER = "id,title,author,isbn,published_date\r\n";
+
+    private final Writer writer;
+
+    CsvChunkWriter(OutputStream out) throws IOException {
+        this.writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), 1 << 16);
+        writer.write(HEADER);
+    }
+
+    @Override
+    public void append(long id, String title, String author, String isbn, LocalDate publishedDate)
+            throws IOException {
+        writer.write(Long.toString(id));
+        writer.write(',');
+        writeField(title);
+        writer.write(',');
+        writeField(author);
+        writer.write(',');
+        writeField(isbn);
+        writer.write(',');
+        if (publishedDate != null) {
+            writer.write(publishedDate.toString());
+        }
+        writer.write("\r\n");
+    }
+
+    @Override
+    public void close() throws IOException {
+        writer.close();
+    }
+
+    private void writeField(String value) throws IOException {
+        if (value == null) {
+            return;
+        }
+        boolean quote = false;
+        for (int i = 0; i < value.length() && !quote; i++) {
+            char c = value.charAt(i);
+            quote = c == ',' || c == '"' || c == '\r' || c == '\n';
+        }
+        if (!quote) {
+            writer.write(value);
+            return;
+        }
+        writer.write('"');
+        writer.write(value.replace("\"", "\"\""));
+        writer.write('"');
+    }
+}
@@ -0,0 +1,29 @@
+package com.pavillion.librarybackend.export;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * File handling shared by the export writers.
+ */
+final class ExportFiles {
+
+    private ExportFiles() {
+    }
+
+    /**
+     * Flushes a completed {@code .part} file to disk and renames it into place. Without the flush a
+     * crash after the rename can leave a target whose contents were never written, which a resumed
+     * export would then skip as done.
+     */
+    static void publish(Path temp, Path target) throws IOException {
+        try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.WRITE)) {
+            channel.force(true);
+        }
+        Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE);
+    }
+}
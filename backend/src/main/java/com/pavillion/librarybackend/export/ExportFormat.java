@@ -0,0 +1,41 @@
+package com.pavillion.librarybackend.export;
+
+import com.pavillion.librarybackend.exception.InvalidQueryParameterException;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * Output formats for catalog exports. Every chunk file is gzip-compressed.
+ */
+public enum ExportFormat {
+
+    /** RFC 4180 CSV with a header row in every chunk, so each chunk is usable on its own. */
+    CSV("csv.gz"),
+
+    /** Column-oriented binary chunks; see {@link ColumnarChunkWriter} for the layout. */
+    COLUMNAR("cols.gz");
+
+    private final String extension;
+
+    ExportFormat(String extension) {
+        this.extension = extension;
+    }
+
+    public String extension() {
+        return extension;
+    }
+
+    ChunkWriter newWriter(OutputStream out) throws IOException {
+        return this == CSV ? new CsvChunkWriter(out) : new ColumnarChunkWriter(out);
+    }
+
+    public static ExportFormat parse(String value) {
+        for (ExportFormat format : values()) {
+            if (format.name().equalsIgnoreCase(value)) {
+                return format;
+            }
+        }
+        throw new InvalidQueryParameterException("Unsupported export format: " + value);
+    }
+}
@@ -0,0 +1,65 @@
+package com.pavillion.librarybackend.export;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Properties;
+
+/**
+ * Fixed plan of an export, written before any chunk so a resumed run covers exactly the same
+ * id ranges. Chunk {@code i} holds ids {@code minId + i * chunkSize} up to the next chunk's first id.
+ * A chunk is done once its final file exists; see {@link CatalogExportService}.
+ */
+record ExportManifest(ExportFormat format, long minId, long maxId, long chunkSize, int chunkCount) {
+
+    static final String FILE_NAME = "manifest.properties";
+
+    static ExportManifest plan(ExportFormat format, Long minId, Long maxId, long chunkSize) {
+        if (minId == null) {
+            return new ExportManifest(format, 0, -1, chunkSize, 0);
+        }
+        return new ExportManifest(format, minId, maxId, chunkSize, (int) ((maxId - minId) / chunkSize + 1));
+    }
+
+    long firstId(int chunk) {
+        return minId + chunk * chunkSize;
+    }
+
+    long lastId(int chunk) {
+        return Math.min(maxId, firstId(chunk) + chunkSize - 1);
+    }
+
+    String chunkFileName(int chunk) {
+        return String.format("chunk-%05d.%s", chunk, format.extension());
+    }
+
+    void write(Path directory) throws IOException {
+        Properties properties = new Properties();
+        properties.setProperty("format", format.name());
+        properties.setProperty("minId", Long.toString(minId));
+        properties.setProperty("maxId", Long.toString(maxId));
+        properties.setProperty("chunkSize", Long.toString(chunkSize));
+        properties.setProperty("chunkCount", Integer.toString(chunkCount));
+
+        Path temp = directory.resolve(FILE_NAME + ".part");
+        try (Writer writer = Files.newBufferedWriter(temp)) {
+            properties.store(writer, "Catalog export");
+        }
+        ExportFiles.publish(temp, directory.resolve(FILE_NAME));
+    }
+
+    static ExportManifest read(Path directory) throws IOException {
+        Properties properties = new Properties();
+        try (Reader reader = Files.newBufferedReader(directory.resolve(FILE_NAME))) {
+            properties.load(reader);
+        }
+        return new ExportManifest(
+                ExportFormat.valueOf(properties.getProperty("format")),
+                Long.parseLong(properties.getProperty("minId")),
+                Long.parseLong(properties.getProperty("maxId")),
+                Long.parseLong(properties.getProperty("chunkSize")),
+                Integer.parseInt(properties.getProperty("chunkCount")));
+    }
+}
@@ -0,0 +1,173 @@
+package com.pavillion.librarybackend.idempotency;
+
+import com.pavillion.librarybackend.exception.IdempotencyKeyMismatchException;
+import com.pavillion.librarybackend.exception.InvalidQueryParameterException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+
+import java.time.Duration;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Supplier;
+
+/**
+ * Results of write requests sent with an {@code Idempotency-Key}, so a client retrying after
+ * a timeout or dropped connection gets the original response instead of a second write.
+ * <p>
+ * A replay with the same key and the same request returns the stored response, marked with
+ * {@code Idempotent-Replayed: true}, without running the handler. A replay that arrives while
+ * the original is still running waits for it. Reusing a key for a different request is rejected.
+ * Only successful responses are kept: a failed request releases its key so it can be retried.
+ * <p>
+ * Entries expire after {@code ttl}, and the oldest are evicted beyond {@code maxEntries}. Entries
+ * whose request is still running are never evicted, since a retry would then run it a second
+ * time; the store may exceed {@code maxEntries} by the number of requests in flight.
+ * Keys are held per instance, so replays are only recognized by the instance that served
+ * the original request.
+ */
+public class IdempotencyStore {
+
+    public static final String IDEMPOTENCY_KEY_HEADER = "Idempotency-Key";
+    public static final String REPLAYED_HEADER = "Idempotent-Replayed";
+
+    private static final int MAX_KEY_LENGTH = 255;
+
+    /** Insertion order is expiry order, since every entry lives for the same ttl. */
+    private final LinkedHashMap<String, Entry> entries = new LinkedHashMap<>();
+    private final int maxEntries;
+    private final long ttlNanos;
+    private final Counter replays;
+    private final Counter mismatches;
+
+    public IdempotencyStore(int maxEntries, Duration ttl, MeterRegistry meterRegistry) {
+        this.maxEntries = maxEntries;
+        this.ttlNanos = ttl.toNanos();
+        this.replays = Counter.builder("library.idempotency.replays")
+                .description("Write requests answered from a stored response")
+                .register(meterRegistry);
+        this.mismatches = Counter.builder("library.idempotency.mismatches")
+                .description("Write requests rejected for reusing a key with a different request")
+                .register(meterRegistry);
+        Gauge.builder("library.idempotency.entries", this, IdempotencyStore::size)
+                .description("Idempotency keys currently held")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Runs {@code action} once per key. {@code fingerprint} identifies the request (operation,
+     * target and payload) and must be captured before the action can modify the payload.
+     */
+    @SuppressWarnings("unchecked")
+    public <T> CompletableFuture<ResponseEntity<T>> execute(String key, Object fingerprint,
+                                                            Supplier<CompletableFuture<ResponseEntity<T>>> action) {
+        validate(key);
+        Entry fresh = new Entry(fingerprint, new CompletableFuture<>(), System.nanoTime() + ttlNanos);
+        Entry existing = putIfAbsent(key, fresh);
+        if (existing != null) {
+            if (!existing.fingerprint().equals(fingerprint)) {
+                mismatches.increment();
+                throw new IdempotencyKeyMismatchException(key);
+            }
+            replays.increment();
+            return existing.response().thenApply(response -> replayed((ResponseEntity<T>) response));
+        }
+
+        CompletableFuture<ResponseEntity<T>> result;
+        try {
+            result = action.get();
+        } catch (RuntimeException e) {
+            result = CompletableFuture.failedFuture(e);
+        }
+        result.whenComplete((response, failure) -> {
+            if (failure != null) {
+                release(key, fresh);
+                fresh.response().completeExceptionally(failure);
+            } else {
+                fresh.response().complete(response);
+            }
+        });
+        return result;
+    }
+
+    int size() {
+        synchronized (entries) {
+            return entries.size();
+        }
+    }
+
+    // Helper methods
+
+    /**
+     * Stores {@code fresh} unless a live entry holds the key, and returns that entry.
+     */
+    private Entry putIfAbsent(String key, Entry fresh) {
+        long now = System.nanoTime();
+        synchronized (entries) {
+            evictExpired(now);
+            Entry existing = entries.get(key);
+            if (existing != null) {
+                return existing;
+            }
+            entries.put(key, fresh);
+            if (entries.size() > maxEntries) {
+                evictOldestCompleted();
+            }
+            return null;
+        }
+    }
+
+    private void release(String key, Entry entry) {
+        synchronized (entries) {
+            entries.remove(key, entry);
+        }
+    }
+
+    private void evictExpired(long now) {
+        Iterator<Entry> iterator = entries.values().iterator();
+        while (iterator.hasNext()) {
+            Entry entry = iterator.next();
+            if (!entry.isExpired(now)) {
+                return;
+            }
+            if (entry.response().isDone()) {
+                iterator.remove();
+            }
+        }
+    }
+
+    private void evictOldestCompleted() {
+        Iterator<Entry> iterator = entries.values().iterator();
+        while (iterator.hasNext()) {
+            if (iterator.next().response().isDone()) {
+                iterator.remove();
+                return;
+            }
+        }
+    }
+
+    private static void validate(String key) {
+        if (key.isBlank() || key.length() > MAX_KEY_LENGTH) {
+            throw new InvalidQueryParameterException(
+                    IDEMPOTENCY_KEY_HEADER + " must be 1 to " + MAX_KEY_LENGTH + " characters");
+        }
+    }
+
+    private static <T> ResponseEntity<T> replayed(ResponseEntity<T> response) {
+        HttpHeaders headers = new HttpHeaders();
+        headers.putAll(response.getHeaders());
+        headers.set(REPLAYED_HEADER, "true");
+        return new ResponseEntity<>(response.getBody(), headers, response.getStatusCode());
+    }
+
+    private record Entry(Object fingerprint, CompletableFuture<ResponseEntity<?>> response, long expiresAtNanos) {
+
+        boolean isExpired(long now) {
+            return now - expiresAtNanos >= 0;
+        }
+    }
+}
@@ -0,0 +1,21 @@
+package com.pavillion.librarybackend.qos;
+
+/**
+ * Scheduling classes. Interactive work is single-book reads and writes from FX users; bulk work
+ * is whole-catalog listings, exports and index rebuilds. Each class has its own executor and
+ * connection pool, so bulk load cannot starve interactive requests.
+ */
+public enum WorkloadClass {
+
+    INTERACTIVE,
+    BULK;
+
+    /** Lower-case name used in metric tags, thread and pool names. */
+    public String tag() {
+        return name().toLowerCase();
+    }
+
+    public static WorkloadClass parse(String value) {
+        return valueOf(value.trim().toUpperCase());
+    }
+}
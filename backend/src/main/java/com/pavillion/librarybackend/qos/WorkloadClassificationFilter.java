@@ -0,0 +1,61 @@
+package com.pavillion.librarybackend.qos;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.util.AntPathMatcher;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Classifies each API request as interactive or bulk and sets it as the {@link WorkloadContext}
+ * while the request is dispatched. Bulk requests are listed as rules of the form
+ * {@code [METHOD] /path/pattern}; everything else is interactive.
+ * Clients may also declare themselves bulk with {@code X-Workload: bulk}, never the reverse.
+ */
+public class WorkloadClassificationFilter extends OncePerRequestFilter {
+
+    static final String WORKLOAD_HEADER = "X-Workload";
+
+    private final AntPathMatcher pathMatcher = new AntPathMatcher();
+    private final List<Rule> bulkRules = new ArrayList<>();
+
+    public WorkloadClassificationFilter(List<String> bulkRequests) {
+        for (String rule : bulkRequests) {
+            String[] parts = rule.trim().split("\\s+", 2);
+            if (parts.length == 2) {
+                bulkRules.add(new Rule(parts[0].toUpperCase(), parts[1]));
+            } else if (!parts[0].isEmpty()) {
+                bulkRules.add(new Rule(null, parts[0]));
+            }
+        }
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+        try (WorkloadContext.Scope ignored = WorkloadContext.enter(classify(request))) {
+            filterChain.doFilter(request, response);
+        }
+    }
+
+    WorkloadClass classify(HttpServletRequest request) {
+        if ("bulk".equalsIgnoreCase(request.getHeader(WORKLOAD_HEADER))) {
+            return WorkloadClass.BULK;
+        }
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        for (Rule rule : bulkRules) {
+            if ((rule.method() == null || rule.method().equals(request.getMethod()))
+                    && pathMatcher.match(rule.pattern(), path)) {
+                return WorkloadClass.BULK;
+            }
+        }
+        return WorkloadClass.INTERACTIVE;
+    }
+
+    private record Rule(String method, String pattern) {}
+}
@@ -0,0 +1,47 @@
+package com.pavillion.librarybackend.qos;
+
+/**
+ * Workload class of the work running on the current thread; interactive unless set.
+ * Read by {@link WorkloadRoutingDataSource} to pick a connection pool.
+ */
+public final class WorkloadContext {
+
+    private static final ThreadLocal<WorkloadClass> CURRENT = new ThreadLocal<>();
+
+    private WorkloadContext() {}
+
+    public static WorkloadClass current() {
+        WorkloadClass workload = CURRENT.get();
+        return workload != null ? workload : WorkloadClass.INTERACTIVE;
+    }
+
+    /**
+     * Sets the class until the returned scope is closed, which restores the previous one.
+     */
+    public static Scope enter(WorkloadClass workload) {
+        WorkloadClass previous = CURRENT.get();
+        CURRENT.set(workload);
+        return () -> {
+            if (previous != null) {
+                CURRENT.set(previous);
+            } else {
+                CURRENT.remove();
+            }
+        };
+    }
+
+    /**
+     * Runs the task as the given class.
+     */
+    public static void run(WorkloadClass workload, Runnable task) {
+        try (Scope ignored = enter(workload)) {
+            task.run();
+        }
+    }
+
+    @FunctionalInterface
+    public interface Scope extends AutoCloseable {
+        @Override
+        void close();
+    }
+}
@@ -0,0 +1,101 @@
+package com.pavillion.librarybackend.qos;
+
+import com.pavillion.librarybackend.exception.ServiceUnavailableException;
+import io.micrometer.context.ContextSnapshotFactory;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Bounded thread pool for one workload class. When its queue is full, new work fails fast with
+ * {@link ServiceUnavailableException} rather than queueing without limit.
+ * Publishes queue depth, active threads, queue wait and execution time, tagged by class.
+ * Tasks run with the submitter's tracing context and with the class set in {@link WorkloadContext}.
+ */
+class WorkloadExecutor {
+
+    private static final ContextSnapshotFactory CONTEXT_SNAPSHOTS = ContextSnapshotFactory.builder().build();
+
+    private final WorkloadClass workload;
+    private final ThreadPoolExecutor executor;
+    private final Timer queueWait;
+    private final Timer execution;
+    private final Counter rejected;
+
+    WorkloadExecutor(WorkloadClass workload, int threads, int queueCapacity, MeterRegistry meterRegistry) {
+        this.workload = workload;
+        this.executor = new ThreadPoolExecutor(threads, threads, 60, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), threadFactory(workload));
+        this.executor.allowCoreThreadTimeOut(true);
+
+        String tag = workload.tag();
+        this.queueWait = Timer.builder("library.qos.queue.wait")
+                .description("Time requests wait for a worker of their class")
+                .tag("workload", tag)
+                .register(meterRegistry);
+        this.execution = Timer.builder("library.qos.execution")
+                .description("Time requests spend running on a worker of their class")
+                .tag("workload", tag)
+                .register(meterRegistry);
+        this.rejected = Counter.builder("library.qos.rejected")
+                .description("Requests rejected because their class's queue was full")
+                .tag("workload", tag)
+                .register(meterRegistry);
+        Gauge.builder("library.qos.queue.depth", executor, pool -> pool.getQueue().size())
+                .description("Requests queued for a worker of their class")
+                .tag("workload", tag)
+                .register(meterRegistry);
+        Gauge.builder("library.qos.active", executor, ThreadPoolExecutor::getActiveCount)
+                .description("Workers of the class currently running a request")
+                .tag("workload", tag)
+                .register(meterRegistry);
+    }
+
+    <T> CompletableFuture<T> submit(Callable<T> task) {
+        CompletableFuture<T> result = new CompletableFuture<>();
+        Callable<T> traced = CONTEXT_SNAPSHOTS.captureAll().wrap(task);
+        long queuedAt = System.nanoTime();
+        try {
+            executor.execute(() -> {
+                long startedAt = System.nanoTime();
+                queueWait.record(startedAt - queuedAt, TimeUnit.NANOSECONDS);
+                WorkloadContext.run(workload, () -> {
+                    try {
+                        result.complete(traced.call());
+                    } catch (Throwable e) {
+                        result.completeExceptionally(e);
+                    }
+                });
+                execution.record(System.nanoTime() - startedAt, TimeUnit.NANOSECONDS);
+            });
+        } catch (RejectedExecutionException e) {
+            rejected.increment();
+            result.completeExceptionally(
+                    new ServiceUnavailableException("Too many " + workload.tag() + " requests queued"));
+        }
+        return result;
+    }
+
+    void shutdown() {
+        executor.shutdown();
+    }
+
+    private static ThreadFactory threadFactory(WorkloadClass workload) {
+        AtomicInteger counter = new AtomicInteger();
+        return task -> {
+            Thread thread = new Thread(task, "qos-" + workload.tag() + "-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+}
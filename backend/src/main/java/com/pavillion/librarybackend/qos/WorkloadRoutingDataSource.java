@@ -0,0 +1,35 @@
+package com.pavillion.librarybackend.qos;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+
+import java.io.Closeable;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Partitions JDBC connections by workload class: each class borrows from its own Hikari pool,
+ * so long bulk scans cannot hold every connection while interactive requests wait.
+ * The pool is chosen when a transaction or statement acquires its connection, from the
+ * {@link WorkloadContext} of the acquiring thread.
+ */
+public class WorkloadRoutingDataSource extends AbstractRoutingDataSource implements Closeable {
+
+    private final Map<WorkloadClass, HikariDataSource> pools;
+
+    public WorkloadRoutingDataSource(Map<WorkloadClass, HikariDataSource> pools) {
+        this.pools = pools;
+        setTargetDataSources(new HashMap<>(pools));
+        setDefaultTargetDataSource(pools.get(WorkloadClass.INTERACTIVE));
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        return WorkloadContext.current();
+    }
+
+    @Override
+    public void close() {
+        pools.values().forEach(HikariDataSource::close);
+    }
+}
@@ -0,0 +1,47 @@
+package com.pavillion.librarybackend.qos;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+import java.io.Closeable;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Runs request handling on the executor of the request's workload class.
+ * Controllers return the resulting future, so the Tomcat thread is released while the work
+ * waits for or runs on its class's workers.
+ * Interactive work is favoured by sizing alone: its class gets more workers, a longer queue and
+ * more connections than bulk. Thread priorities are not used, since HotSpot on Linux ignores them.
+ */
+public class WorkloadScheduler implements Closeable {
+
+    private final Map<WorkloadClass, WorkloadExecutor> executors = new EnumMap<>(WorkloadClass.class);
+
+    public WorkloadScheduler(Map<WorkloadClass, Settings> settings, MeterRegistry meterRegistry) {
+        for (WorkloadClass workload : WorkloadClass.values()) {
+            Settings classSettings = settings.get(workload);
+            executors.put(workload, new WorkloadExecutor(workload, classSettings.threads(),
+                    classSettings.queueCapacity(), meterRegistry));
+        }
+    }
+
+    /**
+     * Schedules the task in the workload class of the calling thread, as set by
+     * {@link WorkloadClassificationFilter} for web requests.
+     */
+    public <T> CompletableFuture<T> submit(Callable<T> task) {
+        return executors.get(WorkloadContext.current()).submit(task);
+    }
+
+    @Override
+    public void close() {
+        executors.values().forEach(WorkloadExecutor::shutdown);
+    }
+
+    /**
+     * Executor settings for one workload class.
+     */
+    public record Settings(int threads, int queueCapacity) {}
+}
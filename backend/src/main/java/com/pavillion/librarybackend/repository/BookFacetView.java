@@ -0,0 +1,19 @@
+package com.pavillion.librarybackend.repository;
+
+import java.time.LocalDate;
+
+/**
+ * Projection of the columns the facet and similarity indexes are built from, avoiding managed entity loads.
+ */
+public interface BookFacetView {
+
+    Long getId();
+
+    String getTitle();
+
+    String getAuthor();
+
+    LocalDate getPublishedDate();
+
+    Long getVersion();
+}
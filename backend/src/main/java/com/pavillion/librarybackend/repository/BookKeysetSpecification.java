@@ -0,0 +1,137 @@
+package com.pavillion.librarybackend.repository;
+
+import com.pavillion.librarybackend.entity.Book;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Expression;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Keyset ("seek") predicate selecting the rows that sort strictly after a given row.
+ * For sort columns c1..cn and last-row keys k1..kn it builds
+ * {@code c1 >= k1 and ((c1 after k1) or (c1 = k1 and c2 after k2) or ...)}. The leading
+ * range bound is what lets the database seek into the (c1, id) index rather than filter
+ * the index from its start.
+ * <p>
+ * Nulls are treated as the lowest value, matching the NULLS FIRST / NULLS LAST ordering
+ * the service requests for ascending / descending columns, and the order nulls take in
+ * the database's indexes. Where the rows after the key span both nulls and values of the
+ * leading column, no single range covers them: this predicate selects the part on the
+ * key's side, and {@link #remainder()} the part beyond it, to be read once the first runs out.
+ */
+public class BookKeysetSpecification implements Specification<Book> {
+
+    private final List<Column> columns;
+
+    public BookKeysetSpecification(List<Column> columns) {
+        this.columns = columns;
+    }
+
+    @Override
+    public Predicate toPredicate(Root<Book> root, CriteriaQuery<?> query, CriteriaBuilder cb) {
+        List<Predicate> alternatives = new ArrayList<>(columns.size());
+        List<Predicate> equalPrefix = new ArrayList<>(columns.size());
+
+        for (Column sortColumn : columns) {
+            Path<Comparable<Object>> column = root.get(sortColumn.property());
+            Object key = sortColumn.key();
+
+            Predicate after = after(cb, column, sortColumn, equalPrefix.isEmpty());
+            if (after != null) {
+                List<Predicate> branch = new ArrayList<>(equalPrefix);
+                branch.add(after);
+                alternatives.add(cb.and(branch.toArray(Predicate[]::new)));
+            }
+            equalPrefix.add(key == null ? cb.isNull(column) : cb.equal(column, key));
+        }
+        Predicate seek = cb.or(alternatives.toArray(Predicate[]::new));
+
+        Predicate bound = leadingBound(cb, root.get(columns.get(0).property()), columns.get(0));
+        return bound == null ? seek : cb.and(bound, seek);
+    }
+
+    /**
+     * Rows after the key that this predicate leaves out because they lie on the other side of
+     * the leading column's nulls, or null if there are none. They all sort after the selected rows.
+     */
+    @SuppressWarnings("unchecked")
+    public Specification<Book> remainder() {
+        Column leading = columns.get(0);
+        if (!leading.nullable()) {
+            return null;
+        }
+        if (!leading.descending() && leading.key() == null) {
+            // Ascending from within the nulls: every value follows. A range rather than
+            // IS NOT NULL, so the index is entered past the nulls instead of read through them
+            Comparable<Object> lowest = (Comparable<Object>) leading.lowest();
+            return (root, query, cb) -> cb.greaterThanOrEqualTo(root.get(leading.property()), lowest);
+        }
+        if (leading.descending() && leading.key() != null) {
+            // Descending from a value: the nulls follow every value
+            return (root, query, cb) -> cb.isNull(root.get(leading.property()));
+        }
+        return null;
+    }
+
+    /**
+     * Rows whose value sorts strictly after {@code key}, or null if none can. On the leading
+     * column, values on the far side of the nulls are left to {@link #remainder()}.
+     */
+    @SuppressWarnings("unchecked")
+    private static Predicate after(CriteriaBuilder cb, Expression<Comparable<Object>> column, Column sortColumn,
+                                   boolean leading) {
+        Comparable<Object> key = (Comparable<Object>) sortColumn.key();
+        if (!sortColumn.descending()) {
+            // Ascending, nulls first: every non-null value follows a null key
+            if (key == null) {
+                return leading ? null : cb.isNotNull(column);
+            }
+            return cb.greaterThan(column, key);
+        }
+        if (!sortColumn.nullable()) {
+            return cb.lessThan(column, key);
+        }
+        // Descending, nulls last: nothing follows a null key, nulls follow every value
+        if (key == null) {
+            return null;
+        }
+        return leading ? cb.lessThan(column, key) : cb.or(cb.lessThan(column, key), cb.isNull(column));
+    }
+
+    /**
+     * Inclusive range on the leading column that the index can seek to, or null for a null key,
+     * where the IS NULL equality in every branch serves instead. Descending over a nullable
+     * column, the range is also closed below, so the scan stops short of the nulls.
+     */
+    @SuppressWarnings("unchecked")
+    private static Predicate leadingBound(CriteriaBuilder cb, Expression<Comparable<Object>> column,
+                                          Column sortColumn) {
+        Comparable<Object> key = (Comparable<Object>) sortColumn.key();
+        if (key == null) {
+            return null;
+        }
+        if (!sortColumn.descending()) {
+            return cb.greaterThanOrEqualTo(column, key);
+        }
+        return sortColumn.nullable()
+                ? cb.between(column, (Comparable<Object>) sortColumn.lowest(), key)
+                : cb.lessThanOrEqualTo(column, key);
+    }
+
+    /**
+     * One sort column with the last row's value for it. {@code lowest} is a value below every
+     * non-null value of a nullable column, and null for columns that are never null.
+     */
+    public record Column(String property, boolean descending, Object lowest, Object key) {
+
+        public boolean nullable() {
+            return lowest != null;
+        }
+    }
+}
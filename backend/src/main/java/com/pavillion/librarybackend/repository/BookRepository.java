@@ -1,9 +1,16 @@
 package com.pavillion.librarybackend.repository;
 
 import com.pavillion.librarybackend.entity.Book;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
 import java.util.Optional;
 
 /**
@@ -11,11 +18,35 @@ import java.util.Optional;
  * Provides CRUD operations and custom query methods.
  */
 @Repository
-public interface BookRepository extends JpaRepository<Book, Long> {
+public interface BookRepository extends JpaRepository<Book, Long>, JpaSpecificationExecutor<Book> {
 
     boolean existsByIsbn(String isbn);
 
     boolean existsByIsbnAndIdNot(String isbn, Long id);
 
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     Optional<Book> findByIsbn(String isbn);
+
+    @Query("select min(b.id) from Book b")
+    Long findMinId();
+
+    @Query("select max(b.id) from Book b")
+    Long findMaxId();
+
+    List<BookFacetView> findFacetViewsByIdBetween(Long fromId, Long toId);
+
+    Optional<BookFacetView> findFacetViewById(Long id);
+
+    @Query("select b.author as value, count(b) as count from Book b " +
+            "where lower(b.title) like lower(concat('%', :query, '%')) " +
+            "or lower(b.author) like lower(concat('%', :query, '%')) " +
+            "group by b.author")
+    List<FacetCount> countByAuthorMatching(@Param("query") String query);
+
+    @Query("select extract(year from b.publishedDate) as value, count(b) as count from Book b " +
+            "where b.publishedDate is not null " +
+            "and (lower(b.title) like lower(concat('%', :query, '%')) " +
+            "or lower(b.author) like lower(concat('%', :query, '%'))) " +
+            "group by extract(year from b.publishedDate)")
+    List<FacetCount> countByPublishedYearMatching(@Param("query") String query);
 }
\ No newline at end of file
@@ -0,0 +1,11 @@
+package com.pavillion.librarybackend.repository;
+
+/**
+ * Projection of a grouped count query; the key is an author name or a publication year.
+ */
+public interface FacetCount {
+
+    Object getValue();
+
+    Long getCount();
+}
@@ -0,0 +1,48 @@
+package com.pavillion.librarybackend.repository;
+
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Order;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import org.hibernate.query.NullPrecedence;
+import org.hibernate.query.criteria.JpaOrder;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Orders a query by a {@link Sort} from within the criteria query, including its NULLS FIRST /
+ * NULLS LAST handling, for use with an unsorted {@code findBy}.
+ * Sorting through the fluent query API instead ({@code sortBy}) renders the ORDER BY twice,
+ * which keeps H2 from reading the matching index in order, and drops the null handling.
+ */
+public class SortedSpecification<T> implements Specification<T> {
+
+    private final Specification<T> filter;
+    private final Sort sort;
+
+    public SortedSpecification(Specification<T> filter, Sort sort) {
+        this.filter = filter;
+        this.sort = sort;
+    }
+
+    @Override
+    public Predicate toPredicate(Root<T> root, CriteriaQuery<?> query, CriteriaBuilder cb) {
+        List<Order> orders = new ArrayList<>();
+        for (Sort.Order order : sort) {
+            Path<?> column = root.get(order.getProperty());
+            JpaOrder jpaOrder = (JpaOrder) (order.isAscending() ? cb.asc(column) : cb.desc(column));
+            orders.add(switch (order.getNullHandling()) {
+                case NULLS_FIRST -> jpaOrder.nullPrecedence(NullPrecedence.FIRST);
+                case NULLS_LAST -> jpaOrder.nullPrecedence(NullPrecedence.LAST);
+                case NATIVE -> jpaOrder;
+            });
+        }
+        query.orderBy(orders);
+        return filter == null ? null : filter.toPredicate(root, query, cb);
+    }
+}
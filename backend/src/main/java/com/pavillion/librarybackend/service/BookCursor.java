@@ -0,0 +1,63 @@
+package com.pavillion.librarybackend.service;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.pavillion.librarybackend.dto.BookDTO;
+import com.pavillion.librarybackend.exception.InvalidQueryParameterException;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Opaque keyset pagination cursor: the sort it was issued for plus the sort-key values
+ * of the last book on the page, as URL-safe Base64 JSON.
+ */
+final class BookCursor {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+    private static final TypeReference<Map<String, Object>> JSON_OBJECT = new TypeReference<>() {};
+
+    private BookCursor() {}
+
+    static String encode(BookSort sort, BookDTO lastBook) {
+        List<String> keys = new ArrayList<>(sort.orders().size());
+        for (BookSort.Order order : sort.orders()) {
+            keys.add(Objects.toString(order.field().valueOf(lastBook), null));
+        }
+        Map<String, Object> json = new LinkedHashMap<>();
+        json.put("sort", sort.toString());
+        json.put("keys", keys);
+        try {
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(MAPPER.writeValueAsBytes(json));
+        } catch (IOException e) {
+            throw new IllegalStateException("Failed to encode cursor", e);
+        }
+    }
+
+    /**
+     * Returns the key values after which the next page starts, typed per sort field.
+     */
+    static List<Object> decode(String cursor, BookSort sort) {
+        try {
+            Map<String, Object> json = MAPPER.readValue(Base64.getUrlDecoder().decode(cursor), JSON_OBJECT);
+            if (!sort.toString().equals(json.get("sort")) || !(json.get("keys") instanceof List<?> keys)
+                    || keys.size() != sort.orders().size()) {
+                throw new InvalidQueryParameterException("Cursor does not match sort: " + sort);
+            }
+            List<Object> values = new ArrayList<>(keys.size());
+            for (int i = 0; i < keys.size(); i++) {
+                values.add(sort.orders().get(i).field().parse((String) keys.get(i)));
+            }
+            return values;
+        } catch (InvalidQueryParameterException e) {
+            throw e;
+        } catch (IOException | RuntimeException e) {
+            throw new InvalidQueryParameterException("Malformed cursor");
+        }
+    }
+}
@@ -0,0 +1,309 @@
+package com.pavillion.librarybackend.service;
+
+import com.pavillion.librarybackend.catalog.CompactBookTable;
+import com.pavillion.librarybackend.catalog.StringDictionary;
+import com.pavillion.librarybackend.dto.BookDTO;
+import com.pavillion.librarybackend.dto.FacetCountDTO;
+import com.pavillion.librarybackend.event.BookChangedEvent;
+import com.pavillion.librarybackend.event.CatalogReloadedEvent;
+import com.pavillion.librarybackend.event.RemoteBookChangedEvent;
+import com.pavillion.librarybackend.qos.WorkloadClass;
+import com.pavillion.librarybackend.qos.WorkloadContext;
+import com.pavillion.librarybackend.repository.BookFacetView;
+import com.pavillion.librarybackend.repository.BookRepository;
+import com.pavillion.librarybackend.repository.FacetCount;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.LongStream;
+
+/**
+ * In-memory author and publication-year aggregates over the whole catalog.
+ * Built once at startup by a parallel scan over id ranges, then maintained
+ * incrementally from {@link BookChangedEvent}s so unfiltered facet requests never scan the table.
+ * Changes made by other instances arrive as {@link RemoteBookChangedEvent}s and are applied
+ * by rereading the book's row. Every book's entity version is kept alongside it, and deleted ids
+ * are remembered, so local events, reread rows and the rebuild scan only ever move a book forward.
+ * Filtered requests, and any request made before the first build completes, are
+ * answered by grouped queries in the database.
+ * Per-book state lives in a {@link CompactBookTable}, holding only author and date since titles
+ * and ISBNs are not aggregated, and author counts are indexed by the table's author dictionary codes.
+ */
+@Component
+@Slf4j
+public class BookFacetIndex {
+
+    private static final long REBUILD_RANGE_SIZE = 10_000;
+    private static final int INITIAL_CAPACITY = 1024;
+
+    private static final Comparator<FacetCountDTO> BY_COUNT_DESC = Comparator
+            .comparingLong(FacetCountDTO::getCount).reversed()
+            .thenComparing(FacetCountDTO::getValue);
+
+    private final BookRepository bookRepository;
+    private final int rebuildParallelism;
+
+    /** Current state of every book, so a change can retract the book's previous contribution. */
+    private final CompactBookTable books = new CompactBookTable(INITIAL_CAPACITY);
+    /** Entity version of the book in each slot of {@link #books}. */
+    private long[] versions = new long[INITIAL_CAPACITY];
+    private long[] authorCounts = new long[INITIAL_CAPACITY];
+    private final Map<Integer, Long> yearCounts = new HashMap<>();
+    /** Ids deleted since the last rebuild started, so stale rows cannot resurrect them. */
+    private final Set<Long> deletedIds = new HashSet<>();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private volatile boolean ready;
+
+    public BookFacetIndex(
+            BookRepository bookRepository,
+            @Value("${library.qos.bulk.datasource.maximum-pool-size:4}") int bulkPoolSize) {
+        this.bookRepository = bookRepository;
+        this.rebuildParallelism = rebuildParallelism(bulkPoolSize);
+    }
+
+    /**
+     * Rebuild workers for a bulk pool of the given size. The facet and similarity indexes rebuild
+     * together, so each takes half the pool and neither waits on the other for connections.
+     */
+    static int rebuildParallelism(int bulkPoolSize) {
+        return Math.max(1, Math.min(Math.min(4, bulkPoolSize / 2), Runtime.getRuntime().availableProcessors()));
+    }
+
+    /**
+     * Returns book counts per author, most prolific first.
+     */
+    public List<FacetCountDTO> countByAuthor(String query) {
+        if (!ready || hasText(query)) {
+            return sortByCount(toFacetCounts(bookRepository.countByAuthorMatching(normalize(query))));
+        }
+        List<FacetCountDTO> result = new ArrayList<>();
+        lock.readLock().lock();
+        try {
+            StringDictionary authors = books.authors();
+            for (int code = 0; code < authors.size(); code++) {
+                if (authorCounts[code] > 0) {
+                    result.add(new FacetCountDTO(authors.decode(code), authorCounts[code]));
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        return sortByCount(result);
+    }
+
+    /**
+     * Returns book counts per publication year, or per decade, in chronological order.
+     * Books without a published date are not counted.
+     */
+    public List<FacetCountDTO> countByPublishedYear(String query, boolean byDecade) {
+        Map<Integer, Long> histogram = new TreeMap<>();
+        if (!ready || hasText(query)) {
+            for (FacetCount row : bookRepository.countByPublishedYearMatching(normalize(query))) {
+                histogram.merge(bucket(((Number) row.getValue()).intValue(), byDecade), row.getCount(), Long::sum);
+            }
+        } else {
+            lock.readLock().lock();
+            try {
+                yearCounts.forEach((year, count) -> histogram.merge(bucket(year, byDecade), count, Long::sum));
+            } finally {
+                lock.readLock().unlock();
+            }
+        }
+
+        List<FacetCountDTO> result = new ArrayList<>(histogram.size());
+        histogram.forEach((key, count) ->
+                result.add(new FacetCountDTO(byDecade ? key + "s" : String.valueOf(key), count)));
+        return result;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onBookChanged(BookChangedEvent event) {
+        lock.writeLock().lock();
+        try {
+            if (event.isDeletion()) {
+                delete(event.bookId());
+            } else {
+                BookDTO book = event.book();
+                apply(book.getId(), event.version(), book.getAuthor(), book.getPublishedDate());
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Applies another instance's change by rereading the row. The read runs before taking the lock,
+     * so readers and local writers never wait on the query; a local change that lands in between
+     * carries a newer version and is kept.
+     */
+    @EventListener
+    public void onRemoteBookChanged(RemoteBookChangedEvent event) {
+        BookFacetView row = bookRepository.findFacetViewById(event.bookId()).orElse(null);
+        lock.writeLock().lock();
+        try {
+            if (row == null) {
+                delete(event.bookId());
+            } else {
+                apply(row);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Cold-start build: scans the table in id ranges on a small dedicated pool.
+     * Runs off the startup path, and again after bulk loads.
+     * Changes committed during the scan win over the rows it read.
+     */
+    @Async
+    @EventListener({ApplicationReadyEvent.class, CatalogReloadedEvent.class})
+    public synchronized void rebuild() {
+        ready = false;
+        lock.writeLock().lock();
+        try {
+            books.clear();
+            Arrays.fill(authorCounts, 0);
+            yearCounts.clear();
+            deletedIds.clear();
+        } finally {
+            lock.writeLock().unlock();
+        }
+
+        Long minId = bookRepository.findMinId();
+        Long maxId = bookRepository.findMaxId();
+        if (minId != null) {
+            long rangeCount = (maxId - minId) / REBUILD_RANGE_SIZE + 1;
+            ForkJoinPool pool = new ForkJoinPool(rebuildParallelism);
+            try {
+                pool.submit(() -> LongStream.range(0, rangeCount).parallel().forEach(range -> {
+                    long from = minId + range * REBUILD_RANGE_SIZE;
+                    WorkloadContext.run(WorkloadClass.BULK, () ->
+                            load(bookRepository.findFacetViewsByIdBetween(from, from + REBUILD_RANGE_SIZE - 1)));
+                })).join();
+            } finally {
+                pool.shutdown();
+            }
+        }
+        ready = true;
+        log.info("Facet index built for {} books", size());
+    }
+
+    // Helper methods
+
+    private int size() {
+        lock.readLock().lock();
+        try {
+            return books.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Adds a scanned range; books written since the scan read them already hold a newer version and win.
+     */
+    private void load(List<BookFacetView> rows) {
+        lock.writeLock().lock();
+        try {
+            for (BookFacetView row : rows) {
+                apply(row);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void apply(BookFacetView row) {
+        apply(row.getId(), row.getVersion() == null ? 0 : row.getVersion(), row.getAuthor(),
+                row.getPublishedDate());
+    }
+
+    /**
+     * Replaces the book's contribution, unless it was deleted or the index already holds this
+     * version or a newer one.
+     */
+    private void apply(long id, long version, String author, LocalDate publishedDate) {
+        int slot = books.slotOf(id);
+        if (deletedIds.contains(id) || (slot != CompactBookTable.NO_SLOT && versions[slot] >= version)) {
+            return;
+        }
+        retract(id);
+        slot = books.put(id, null, author, null, publishedDate);
+        if (slot >= versions.length) {
+            versions = Arrays.copyOf(versions, Math.max(slot + 1, versions.length + (versions.length >> 1)));
+        }
+        versions[slot] = version;
+        count(slot, 1);
+    }
+
+    private void delete(long id) {
+        deletedIds.add(id);
+        retract(id);
+    }
+
+    private void retract(long id) {
+        int slot = books.slotOf(id);
+        if (slot != CompactBookTable.NO_SLOT) {
+            count(slot, -1);
+            books.remove(id);
+        }
+    }
+
+    private void count(int slot, int delta) {
+        int authorCode = books.authorCodeAt(slot);
+        if (authorCode >= authorCounts.length) {
+            authorCounts = Arrays.copyOf(authorCounts, Math.max(authorCode + 1, authorCounts.length * 2));
+        }
+        authorCounts[authorCode] += delta;
+
+        int year = books.publishedYearAt(slot);
+        if (year != CompactBookTable.NO_YEAR) {
+            yearCounts.merge(year, (long) delta, (current, change) -> current + change == 0 ? null : current + change);
+        }
+    }
+
+    private static List<FacetCountDTO> toFacetCounts(List<FacetCount> rows) {
+        List<FacetCountDTO> result = new ArrayList<>(rows.size());
+        for (FacetCount row : rows) {
+            result.add(new FacetCountDTO(String.valueOf(row.getValue()), row.getCount()));
+        }
+        return result;
+    }
+
+    private static List<FacetCountDTO> sortByCount(List<FacetCountDTO> counts) {
+        counts.sort(BY_COUNT_DESC);
+        return counts;
+    }
+
+    private static int bucket(int year, boolean byDecade) {
+        return byDecade ? Math.floorDiv(year, 10) * 10 : year;
+    }
+
+    private static boolean hasText(String query) {
+        return query != null && !query.isBlank();
+    }
+
+    private static String normalize(String query) {
+        return query == null ? "" : query.trim();
+    }
+}
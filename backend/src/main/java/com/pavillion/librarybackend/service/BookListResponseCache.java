@@ -0,0 +1,121 @@
+package com.pavillion.librarybackend.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.pavillion.librarybackend.dto.BookDTO;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Caches the serialized body of GET /api/books for the current catalog version, per sort order.
+ * The JSON (and its gzip encoding) is built once per version and then served as raw bytes,
+ * skipping the query, DTO mapping and Jackson serialization on every unchanged read.
+ * ETags are digests of the encoded body, so they stay valid across restarts and agree
+ * between instances serving the same catalog.
+ */
+@Component
+@RequiredArgsConstructor
+public class BookListResponseCache {
+
+    /** Bodies smaller than this are not worth compressing. */
+    private static final int GZIP_THRESHOLD_BYTES = 1024;
+    /** Distinct sort orders kept at once; past this, stale snapshots and then all others are dropped. */
+    private static final int MAX_SORT_ORDERS = 16;
+    /** Leading digest bytes kept in the ETag; 128 bits is ample to tell catalog states apart. */
+    private static final int ETAG_DIGEST_BYTES = 16;
+    private static final Duration REBUILD_MAX_WAIT = Duration.ofSeconds(10);
+
+    private final BookService bookService;
+    private final CatalogVersion catalogVersion;
+    private final ObjectMapper objectMapper;
+
+    private final Map<BookSort, Snapshot> snapshots = new ConcurrentHashMap<>();
+    // One rebuild per sort order and catalog version at a time; other orders rebuild in parallel,
+    // and a request arriving after a committed write never joins a rebuild that began before it.
+    private final SingleFlight<RebuildKey, Snapshot> rebuilds = new SingleFlight<>(REBUILD_MAX_WAIT);
+
+    /**
+     * Returns the encoded book list in the given order, rebuilding it if the catalog changed since it was cached.
+     */
+    public Snapshot getAllBooks(BookSort sort) {
+        // Read the version before querying: a write committing meanwhile bumps it past
+        // the one we store, so a possibly stale body is never served as current.
+        long version = catalogVersion.current();
+        Snapshot current = snapshots.get(sort);
+        if (current != null && current.version() == version) {
+            return current;
+        }
+        return rebuilds.execute(new RebuildKey(version, sort), () -> rebuild(version, sort));
+    }
+
+    private Snapshot rebuild(long version, BookSort sort) {
+        Snapshot current = snapshots.get(sort);
+        if (current != null && current.version() >= version) {
+            return current;
+        }
+
+        List<BookDTO> books = bookService.getAllBooks(sort);
+        byte[] json = toJson(books);
+        byte[] gzip = json.length >= GZIP_THRESHOLD_BYTES ? gzip(json) : null;
+
+        Snapshot rebuilt = new Snapshot(version, sort, json, gzip, etag(json));
+        if (!snapshots.containsKey(sort) && snapshots.size() >= MAX_SORT_ORDERS) {
+            snapshots.values().removeIf(snapshot -> snapshot.version() != version);
+            if (snapshots.size() >= MAX_SORT_ORDERS) {
+                snapshots.clear();
+            }
+        }
+        // Rebuilds for different versions of one order may overlap; keep the newest
+        snapshots.merge(sort, rebuilt, (existing, candidate) ->
+                candidate.version() >= existing.version() ? candidate : existing);
+        return rebuilt;
+    }
+
+    private byte[] toJson(List<BookDTO> books) {
+        try {
+            return objectMapper.writeValueAsBytes(books);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Failed to serialize book list", e);
+        }
+    }
+
+    private static String etag(byte[] json) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(json);
+            return "\"books-" + Base64.getUrlEncoder().withoutPadding()
+                    .encodeToString(Arrays.copyOf(digest, ETAG_DIGEST_BYTES)) + "\"";
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    private static byte[] gzip(byte[] data) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(data.length / 4);
+        try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+            gzip.write(data);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return out.toByteArray();
+    }
+
+    /**
+     * Pre-encoded list body for one catalog version and sort order. {@code gzip} is null for small bodies.
+     */
+    public record Snapshot(long version, BookSort sort, byte[] json, byte[] gzip, String etag) {}
+
+    private record RebuildKey(long catalogVersion, BookSort sort) {}
+}
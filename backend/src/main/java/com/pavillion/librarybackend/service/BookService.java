@@ -1,14 +1,27 @@
 package com.pavillion.librarybackend.service;
 
+import com.pavillion.librarybackend.cache.TwoTierBookCache;
 import com.pavillion.librarybackend.dto.BookDTO;
+import com.pavillion.librarybackend.dto.BookPageDTO;
 import com.pavillion.librarybackend.entity.Book;
+import com.pavillion.librarybackend.event.BookChangedEvent;
 import com.pavillion.librarybackend.exception.DuplicateIsbnException;
+import com.pavillion.librarybackend.exception.InvalidQueryParameterException;
 import com.pavillion.librarybackend.exception.ResourceNotFoundException;
+import com.pavillion.librarybackend.repository.BookKeysetSpecification;
 import com.pavillion.librarybackend.repository.BookRepository;
+import com.pavillion.librarybackend.repository.SortedSpecification;
+import com.pavillion.librarybackend.validation.Isbn;
+import io.micrometer.observation.annotation.Observed;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.Duration;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.stream.Collectors;
 
@@ -19,50 +32,144 @@ import java.util.stream.Collectors;
 @Service
 @RequiredArgsConstructor
 @Transactional
+@Observed(name = "book.service")
 public class BookService {
 
+    private static final Duration READ_COALESCING_MAX_WAIT = Duration.ofSeconds(2);
+    public static final int MAX_PAGE_SIZE = 500;
+
     private final BookRepository bookRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final CatalogVersion catalogVersion;
+    private final TwoTierBookCache bookCache;
+
+    // Concurrent identical reads share one database call. Keys carry the catalog version so a
+    // read starting after a committed write never joins a call that began before it. Callers of
+    // a coalesced read, like hits in the book cache, share the returned DTOs: never mutate them.
+    private final SingleFlight<VersionedKey<Long>, BookDTO> bookByIdReads =
+            new SingleFlight<>(READ_COALESCING_MAX_WAIT);
+    private final SingleFlight<VersionedKey<String>, BookDTO> bookByIsbnReads =
+            new SingleFlight<>(READ_COALESCING_MAX_WAIT);
+    private final SingleFlight<VersionedKey<BookSort>, List<BookDTO>> allBooksReads =
+            new SingleFlight<>(READ_COALESCING_MAX_WAIT);
+
+    private final NegativeLookupCache missingBookIds =
+            new NegativeLookupCache(4096, Duration.ofSeconds(5));
 
     /**
      * Creates a new book after validating ISBN uniqueness.
      */
     public BookDTO createBook(BookDTO bookDTO) {
+        bookDTO.setIsbn(canonicalIsbn(bookDTO.getIsbn()));
         validateIsbnUnique(bookDTO.getIsbn());
         Book book = mapToEntity(bookDTO);
         Book savedBook = bookRepository.save(book);
-        return mapToDTO(savedBook);
+        BookDTO created = mapToDTO(savedBook);
+        publishChange(created.getId(), created, savedBook.getVersion());
+        return created;
     }
 
     /**
-     * Retrieves all books from the database.
+     * Retrieves all books from the database in id order.
      */
-    @Transactional(readOnly = true)
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
     public List<BookDTO> getAllBooks() {
-        return bookRepository.findAll()
-                .stream()
+        return getAllBooks(BookSort.BY_ID);
+    }
+
+    /**
+     * Retrieves all books from the database in the given order.
+     * Coalesced reads run without a surrounding transaction so that waiting callers
+     * do not each hold a pooled connection; the repository call opens its own.
+     */
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
+    public List<BookDTO> getAllBooks(BookSort sort) {
+        return allBooksReads.execute(new VersionedKey<>(catalogVersion.current(), sort),
+                () -> bookRepository.findAll(sort.toSort())
+                        .stream()
+                        .map(this::mapToDTO)
+                        .collect(Collectors.toList()));
+    }
+
+    /**
+     * Retrieves one page of books in the given order, starting after the cursor.
+     * Uses keyset pagination: the cursor holds the sort keys of the previous page's last book,
+     * so each page is an index range scan rather than an offset the database must skip over.
+     */
+    @Transactional(readOnly = true)
+    public BookPageDTO getBooksPage(BookSort sort, String cursor, int size) {
+        if (size < 1 || size > MAX_PAGE_SIZE) {
+            throw new InvalidQueryParameterException("Page size must be between 1 and " + MAX_PAGE_SIZE);
+        }
+        Specification<Book> after = Specification.where(null);
+        Specification<Book> remainder = null;
+        if (cursor != null && !cursor.isBlank()) {
+            BookKeysetSpecification keyset = keysetAfter(sort, BookCursor.decode(cursor, sort));
+            after = keyset;
+            remainder = keyset.remainder();
+        }
+
+        // Fetch one extra row to learn whether another page follows
+        List<Book> rows = new ArrayList<>(findPage(after, sort, size + 1));
+        if (remainder != null && rows.size() <= size) {
+            rows.addAll(findPage(remainder, sort, size + 1 - rows.size()));
+        }
+        List<BookDTO> books = rows.stream()
+                .limit(size)
                 .map(this::mapToDTO)
                 .collect(Collectors.toList());
+        String nextCursor = rows.size() > size ? BookCursor.encode(sort, books.get(size - 1)) : null;
+        return new BookPageDTO(books, nextCursor);
     }
 
     /**
-     * Retrieves a single book by ID.
+     * Retrieves a single book by ID, from the cluster-wide book cache when it holds a current copy.
      */
-    @Transactional(readOnly = true)
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
     public BookDTO getBookById(Long id) {
-        Book book = findBookOrThrow(id);
-        return mapToDTO(book);
+        BookDTO cached = bookCache.get(id);
+        if (cached != null) {
+            return cached;
+        }
+        long version = catalogVersion.current();
+        if (missingBookIds.isKnownMissing(id, version)) {
+            throw ResourceNotFoundException.forBookId(id);
+        }
+        return bookByIdReads.execute(new VersionedKey<>(version, id), () -> {
+            Book book = bookRepository.findById(id).orElse(null);
+            if (book == null) {
+                missingBookIds.recordMiss(id, version);
+                throw ResourceNotFoundException.forBookId(id);
+            }
+            BookDTO found = mapToDTO(book);
+            bookCache.put(found, book.getVersion());
+            return found;
+        });
+    }
+
+    /**
+     * Retrieves a single book by ISBN.
+     */
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
+    public BookDTO getBookByIsbn(String isbn) {
+        String canonical = canonicalIsbn(isbn);
+        return bookByIsbnReads.execute(new VersionedKey<>(catalogVersion.current(), canonical),
+                () -> bookRepository.findByIsbn(canonical)
+                        .map(this::mapToDTO)
+                        .orElseThrow(() -> new ResourceNotFoundException("Book not found with ISBN: " + isbn)));
     }
 
     /**
      * Updates an existing book's details.
      */
     public BookDTO updateBook(Long id, BookDTO bookDTO) {
+        bookDTO.setIsbn(canonicalIsbn(bookDTO.getIsbn()));
         Book existingBook = findBookOrThrow(id);
 
         // Check ISBN uniqueness if ISBN is being changed
         if (!existingBook.getIsbn().equals(bookDTO.getIsbn())) {
             if (bookRepository.existsByIsbn(bookDTO.getIsbn())) {
-                throw new DuplicateIsbnException("ISBN already exists: " + bookDTO.getIsbn());
+                throw new DuplicateIsbnException(bookDTO.getIsbn());
             }
         }
 
@@ -72,8 +179,11 @@ public class BookService {
         existingBook.setIsbn(bookDTO.getIsbn());
         existingBook.setPublishedDate(bookDTO.getPublishedDate());
 
-        Book updatedBook = bookRepository.save(existingBook);
-        return mapToDTO(updatedBook);
+        // Flush so the version check runs now and the event carries the incremented version
+        Book updatedBook = bookRepository.saveAndFlush(existingBook);
+        BookDTO updated = mapToDTO(updatedBook);
+        publishChange(id, updated, updatedBook.getVersion());
+        return updated;
     }
 
     /**
@@ -81,24 +191,56 @@ public class BookService {
      */
     public void deleteBook(Long id) {
         if (!bookRepository.existsById(id)) {
-            throw new ResourceNotFoundException("Book not found with id: " + id);
+            throw ResourceNotFoundException.forBookId(id);
         }
         bookRepository.deleteById(id);
+        publishChange(id, null, Long.MAX_VALUE);
     }
 
     // Helper methods
 
     private Book findBookOrThrow(Long id) {
         return bookRepository.findById(id)
-                .orElseThrow(() -> new ResourceNotFoundException("Book not found with id: " + id));
+                .orElseThrow(() -> ResourceNotFoundException.forBookId(id));
+    }
+
+    /**
+     * Books are stored under their ISBN-13 so that hyphenated and ISBN-10 input
+     * resolve to the same record; invalid input is left for validation to report.
+     */
+    private static String canonicalIsbn(String isbn) {
+        String canonical = Isbn.toIsbn13(isbn);
+        return canonical != null ? canonical : isbn;
+    }
+
+    private List<Book> findPage(Specification<Book> spec, BookSort sort, int limit) {
+        return bookRepository.findBy(new SortedSpecification<>(spec, sort.toSort()),
+                query -> query.limit(limit).all());
+    }
+
+    private static BookKeysetSpecification keysetAfter(BookSort sort, List<Object> keys) {
+        List<BookKeysetSpecification.Column> columns = new ArrayList<>(keys.size());
+        for (int i = 0; i < keys.size(); i++) {
+            BookSort.Order order = sort.orders().get(i);
+            columns.add(new BookKeysetSpecification.Column(order.field().property(), order.descending(),
+                    order.field().lowest(), keys.get(i)));
+        }
+        return new BookKeysetSpecification(columns);
     }
 
     private void validateIsbnUnique(String isbn) {
         if (bookRepository.existsByIsbn(isbn)) {
-            throw new DuplicateIsbnException("ISBN already exists: " + isbn);
+            throw new DuplicateIsbnException(isbn);
         }
     }
 
+    /**
+     * Announces a write; listeners run once the surrounding transaction commits.
+     */
+    private void publishChange(Long id, BookDTO book, long version) {
+        eventPublisher.publishEvent(new BookChangedEvent(id, book, version));
+    }
+
     private BookDTO mapToDTO(Book book) {
         return BookDTO.builder()
                 .id(book.getId())
@@ -117,4 +259,6 @@ public class BookService {
                 .publishedDate(dto.getPublishedDate())
                 .build();
     }
+
+    private record VersionedKey<T>(long catalogVersion, T value) {}
 }
\ No newline at end of file
@@ -0,0 +1,274 @@
+package com.pavillion.librarybackend.service;
+
+import com.pavillion.librarybackend.catalog.MinHash;
+import com.pavillion.librarybackend.catalog.MinHashLshIndex;
+import com.pavillion.librarybackend.dto.BookDTO;
+import com.pavillion.librarybackend.dto.SimilarBookDTO;
+import com.pavillion.librarybackend.entity.Book;
+import com.pavillion.librarybackend.event.BookChangedEvent;
+import com.pavillion.librarybackend.event.CatalogReloadedEvent;
+import com.pavillion.librarybackend.event.RemoteBookChangedEvent;
+import com.pavillion.librarybackend.exception.ResourceNotFoundException;
+import com.pavillion.librarybackend.qos.WorkloadClass;
+import com.pavillion.librarybackend.qos.WorkloadContext;
+import com.pavillion.librarybackend.repository.BookFacetView;
+import com.pavillion.librarybackend.repository.BookRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.LongStream;
+
+/**
+ * Near-duplicate detection over titles and authors using MinHash signatures and LSH banding.
+ * Like {@link BookFacetIndex}, it is built by a parallel scan at startup and after bulk loads,
+ * then maintained from {@link BookChangedEvent}s, and from {@link RemoteBookChangedEvent}s by
+ * rereading the book's row; entity versions and remembered deletions keep the three sources in
+ * order. A lookup only reads the buckets the query's
+ * bands fall into, so its cost does not grow with the catalog; the few candidates found are
+ * loaded and ranked by exact Jaccard similarity.
+ * Until the first build completes, lookups only see books written since startup. Later rebuilds
+ * fill a fresh index while lookups keep using the current one, and swap it in when done.
+ */
+@Component
+@Slf4j
+public class BookSimilarityIndex {
+
+    private static final long REBUILD_RANGE_SIZE = 10_000;
+    private static final int INITIAL_CAPACITY = 1024;
+    /** Bounds lookup cost when many books share a bucket, e.g. reprints of a very short title. */
+    private static final int MAX_READS_PER_BUCKET = 64;
+
+    private final BookRepository bookRepository;
+    private final double minSimilarity;
+    private final int rebuildParallelism;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    /** Index serving lookups; replaced when a rebuild completes. Guarded by {@link #lock}. */
+    private MinHashLshIndex index = new MinHashLshIndex(INITIAL_CAPACITY);
+    /** Index being filled by a running rebuild, which also receives every change; otherwise null. */
+    private MinHashLshIndex building;
+    /** Ids deleted since the last rebuild completed, so stale rows cannot resurrect them. */
+    private final Set<Long> deletedIds = new HashSet<>();
+
+    public BookSimilarityIndex(
+            BookRepository bookRepository,
+            @Value("${library.similarity.min-similarity:0.6}") double minSimilarity,
+            @Value("${library.qos.bulk.datasource.maximum-pool-size:4}") int bulkPoolSize) {
+        this.bookRepository = bookRepository;
+        this.minSimilarity = minSimilarity;
+        this.rebuildParallelism = BookFacetIndex.rebuildParallelism(bulkPoolSize);
+    }
+
+    /**
+     * Returns books similar to the given one, most similar first.
+     */
+    public List<SimilarBookDTO> findSimilar(Long id, int limit) {
+        Book book = bookRepository.findById(id).orElseThrow(() -> ResourceNotFoundException.forBookId(id));
+        return findSimilar(book.getTitle(), book.getAuthor(), id, limit);
+    }
+
+    /**
+     * Returns books whose title and author are at least {@code library.similarity.min-similarity}
+     * similar to the given ones, most similar first, excluding {@code excludeId}.
+     */
+    public List<SimilarBookDTO> findSimilar(String title, String author, Long excludeId, int limit) {
+        long[] shingles = MinHash.shingles(title, author);
+        short[] signature = MinHash.signature(shingles);
+        if (signature == null) {
+            return List.of();
+        }
+        Set<Long> candidates;
+        lock.readLock().lock();
+        try {
+            candidates = index.candidates(signature, excludeId == null ? Long.MIN_VALUE : excludeId,
+                    MAX_READS_PER_BUCKET);
+        } finally {
+            lock.readLock().unlock();
+        }
+        if (candidates.isEmpty()) {
+            return List.of();
+        }
+
+        List<SimilarBookDTO> similar = new ArrayList<>();
+        for (Book candidate : bookRepository.findAllById(candidates)) {
+            double similarity = MinHash.jaccard(shingles, MinHash.shingles(candidate.getTitle(), candidate.getAuthor()));
+            if (similarity >= minSimilarity) {
+                similar.add(new SimilarBookDTO(toDTO(candidate), similarity));
+            }
+        }
+        similar.sort(Comparator.comparingDouble(SimilarBookDTO::getSimilarity).reversed()
+                .thenComparing(match -> match.getBook().getId()));
+        return similar.size() > limit ? new ArrayList<>(similar.subList(0, limit)) : similar;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onBookChanged(BookChangedEvent event) {
+        short[] signature = event.isDeletion()
+                ? null
+                : MinHash.signature(MinHash.shingles(event.book().getTitle(), event.book().getAuthor()));
+        lock.writeLock().lock();
+        try {
+            if (event.isDeletion()) {
+                delete(event.bookId());
+            } else {
+                applyEverywhere(event.bookId(), event.version(), signature);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Applies another instance's change by rereading the row. The read runs before taking the lock,
+     * so lookups and local writers never wait on the query; a local change that lands in between
+     * carries a newer version and is kept.
+     */
+    @EventListener
+    public void onRemoteBookChanged(RemoteBookChangedEvent event) {
+        BookFacetView row = bookRepository.findFacetViewById(event.bookId()).orElse(null);
+        short[] signature = row == null
+                ? null
+                : MinHash.signature(MinHash.shingles(row.getTitle(), row.getAuthor()));
+        lock.writeLock().lock();
+        try {
+            if (row == null) {
+                delete(event.bookId());
+            } else {
+                applyEverywhere(row.getId(), versionOf(row), signature);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Cold-start build: scans the table in id ranges on a small dedicated pool, computing
+     * signatures outside the lock, into a fresh index that replaces the current one once the
+     * scan completes. Runs off the startup path, and again after bulk loads; a failed rebuild
+     * leaves the current index in place.
+     */
+    @Async
+    @EventListener({ApplicationReadyEvent.class, CatalogReloadedEvent.class})
+    public synchronized void rebuild() {
+        lock.writeLock().lock();
+        try {
+            building = new MinHashLshIndex(Math.max(INITIAL_CAPACITY, index.size()));
+        } finally {
+            lock.writeLock().unlock();
+        }
+
+        try {
+            Long minId = bookRepository.findMinId();
+            Long maxId = bookRepository.findMaxId();
+            if (minId != null) {
+                long rangeCount = (maxId - minId) / REBUILD_RANGE_SIZE + 1;
+                ForkJoinPool pool = new ForkJoinPool(rebuildParallelism);
+                try {
+                    pool.submit(() -> LongStream.range(0, rangeCount).parallel().forEach(range -> {
+                        long from = minId + range * REBUILD_RANGE_SIZE;
+                        WorkloadContext.run(WorkloadClass.BULK, () ->
+                                load(bookRepository.findFacetViewsByIdBetween(from, from + REBUILD_RANGE_SIZE - 1)));
+                    })).join();
+                } finally {
+                    pool.shutdown();
+                }
+            }
+            lock.writeLock().lock();
+            try {
+                index = building;
+                deletedIds.clear();
+            } finally {
+                lock.writeLock().unlock();
+            }
+            log.info("Similarity index built for {} books", size());
+        } finally {
+            lock.writeLock().lock();
+            try {
+                building = null;
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+    }
+
+    // Helper methods
+
+    private int size() {
+        lock.readLock().lock();
+        try {
+            return index.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Adds a scanned range to the index being built; books written since the scan read them
+     * already hold a newer version there and win.
+     */
+    private void load(List<BookFacetView> rows) {
+        List<short[]> signatures = new ArrayList<>(rows.size());
+        for (BookFacetView row : rows) {
+            signatures.add(MinHash.signature(MinHash.shingles(row.getTitle(), row.getAuthor())));
+        }
+        lock.writeLock().lock();
+        try {
+            for (int i = 0; i < rows.size(); i++) {
+                apply(building, rows.get(i).getId(), versionOf(rows.get(i)), signatures.get(i));
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void applyEverywhere(long id, long version, short[] signature) {
+        apply(index, id, version, signature);
+        if (building != null) {
+            apply(building, id, version, signature);
+        }
+    }
+
+    /**
+     * Re-indexes the book, unless it was deleted or the target already holds this version or a newer one.
+     */
+    private void apply(MinHashLshIndex target, long id, long version, short[] signature) {
+        if (!deletedIds.contains(id) && target.versionOf(id) < version) {
+            target.put(id, version, signature);
+        }
+    }
+
+    private void delete(long id) {
+        deletedIds.add(id);
+        index.remove(id);
+        if (building != null) {
+            building.remove(id);
+        }
+    }
+
+    private static long versionOf(BookFacetView row) {
+        return row.getVersion() == null ? 0 : row.getVersion();
+    }
+
+    private static BookDTO toDTO(Book book) {
+        return BookDTO.builder()
+                .id(book.getId())
+                .title(book.getTitle())
+                .author(book.getAuthor())
+                .isbn(book.getIsbn())
+                .publishedDate(book.getPublishedDate())
+                .build();
+    }
+}
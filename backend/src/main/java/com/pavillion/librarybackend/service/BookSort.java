@@ -0,0 +1,154 @@
+package com.pavillion.librarybackend.service;
+
+import com.pavillion.librarybackend.dto.BookDTO;
+import com.pavillion.librarybackend.exception.InvalidQueryParameterException;
+import org.springframework.data.domain.Sort;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.StringJoiner;
+import java.util.function.Function;
+
+/**
+ * Parsed {@code sort} request parameter, e.g. {@code title,author,publishedDate,-id}.
+ * A leading '-' sorts descending. Only orders that an index on the books table can serve in
+ * index order are accepted: the requested fields must lead one of {@link #INDEXED_ORDERS}, and
+ * the sort is completed with that index's remaining columns, so it is total, which keyset
+ * pagination relies on, and every page is read in index order without a sort step.
+ * Nulls sort low (first ascending, last descending), as they do in the database's indexes.
+ */
+public record BookSort(List<Order> orders) {
+
+    /**
+     * Below any publication date. Not {@link LocalDate#MIN}: dates are bound through
+     * {@code java.sql.Date}, whose millisecond range that overflows. Declared first, since
+     * {@link #INDEXED_ORDERS} initializes {@link Field}.
+     */
+    private static final LocalDate EARLIEST_DATE = LocalDate.of(-999_999, 1, 1);
+
+    /**
+     * The column orders of the indexes on {@code Book}, each ending in a unique column; keep in step
+     * with them. H2 does not read an index backwards, so each descending order has its own index.
+     */
+    private static final List<List<Order>> INDEXED_ORDERS = List.of(
+            orders("id"), orders("-id"),
+            orders("isbn"), orders("-isbn"),
+            orders("title,author,publishedDate,-id"), orders("-title,-author,-publishedDate,id"),
+            orders("author,publishedDate,id"), orders("-author,-publishedDate,-id"),
+            orders("publishedDate,id"), orders("-publishedDate,-id"));
+
+    public static final BookSort BY_ID = parse(null);
+
+    public static BookSort parse(String spec) {
+        if (spec == null || spec.isBlank()) {
+            return new BookSort(INDEXED_ORDERS.get(0));
+        }
+        List<Order> requested = orders(spec);
+        for (List<Order> indexed : INDEXED_ORDERS) {
+            if (indexed.size() >= requested.size() && indexed.subList(0, requested.size()).equals(requested)) {
+                return new BookSort(indexed);
+            }
+        }
+        StringJoiner supported = new StringJoiner("; ");
+        INDEXED_ORDERS.forEach(indexed -> supported.add(new BookSort(indexed).toString()));
+        throw new InvalidQueryParameterException("Unsupported sort order: " + spec
+                + ". Sorts must lead one of: " + supported);
+    }
+
+    public Sort toSort() {
+        List<Sort.Order> result = new ArrayList<>(orders.size());
+        for (Order order : orders) {
+            result.add(order.descending()
+                    ? Sort.Order.desc(order.field().property).nullsLast()
+                    : Sort.Order.asc(order.field().property).nullsFirst());
+        }
+        return Sort.by(result);
+    }
+
+    /**
+     * Canonical form, identical for equivalent specs; used as cache key and cursor check.
+     */
+    @Override
+    public String toString() {
+        StringJoiner joiner = new StringJoiner(",");
+        for (Order order : orders) {
+            joiner.add((order.descending() ? "-" : "") + order.field().property);
+        }
+        return joiner.toString();
+    }
+
+    public record Order(Field field, boolean descending) {}
+
+    private static List<Order> orders(String spec) {
+        List<Order> orders = new ArrayList<>();
+        for (String token : spec.split(",")) {
+            String name = token.trim();
+            boolean descending = name.startsWith("-");
+            Field field = Field.byName(descending ? name.substring(1) : name);
+            if (orders.stream().anyMatch(order -> order.field() == field)) {
+                throw new InvalidQueryParameterException("Duplicate sort field: " + field.property);
+            }
+            orders.add(new Order(field, descending));
+        }
+        return List.copyOf(orders);
+    }
+
+    /**
+     * Sortable book properties, with the JPA property name and how to read and parse cursor values.
+     * Nullable properties carry a value below any they can hold, which bounds index ranges
+     * on their non-null side.
+     */
+    public enum Field {
+        ID("id", null, BookDTO::getId, Long::valueOf),
+        TITLE("title", null, BookDTO::getTitle, Function.identity()),
+        AUTHOR("author", null, BookDTO::getAuthor, Function.identity()),
+        ISBN("isbn", null, BookDTO::getIsbn, Function.identity()),
+        PUBLISHED_DATE("publishedDate", EARLIEST_DATE, BookDTO::getPublishedDate, LocalDate::parse);
+
+        private final String property;
+        private final Object lowest;
+        private final Function<BookDTO, Object> accessor;
+        private final Function<String, Object> parser;
+
+        Field(String property, Object lowest,
+              Function<BookDTO, ?> accessor, Function<String, ?> parser) {
+            this.property = property;
+            this.lowest = lowest;
+            this.accessor = accessor::apply;
+            this.parser = parser::apply;
+        }
+
+        public String property() {
+            return property;
+        }
+
+        public boolean nullable() {
+            return lowest != null;
+        }
+
+        /**
+         * Value below every non-null value of a nullable property, or null if the property is never null.
+         */
+        public Object lowest() {
+            return lowest;
+        }
+
+        public Object valueOf(BookDTO book) {
+            return accessor.apply(book);
+        }
+
+        public Object parse(String value) {
+            return value == null ? null : parser.apply(value);
+        }
+
+        static Field byName(String name) {
+            for (Field field : values()) {
+                if (field.property.equals(name)) {
+                    return field;
+                }
+            }
+            throw new InvalidQueryParameterException("Unsupported sort field: " + name);
+        }
+    }
+}
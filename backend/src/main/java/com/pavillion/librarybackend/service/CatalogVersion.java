@@ -0,0 +1,42 @@
+package com.pavillion.librarybackend.service;
+
+import com.pavillion.librarybackend.event.BookChangedEvent;
+import com.pavillion.librarybackend.event.CatalogReloadedEvent;
+import com.pavillion.librarybackend.event.RemoteBookChangedEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Monotonic version of the book catalog.
+ * Bumped after every committed write so that derived views can tell whether they are stale.
+ */
+@Component
+public class CatalogVersion {
+
+    private final AtomicLong version = new AtomicLong();
+
+    public long current() {
+        return version.get();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onBookChanged(BookChangedEvent event) {
+        version.incrementAndGet();
+    }
+
+    /**
+     * Writes on other instances also invalidate views derived from this instance's catalog version.
+     */
+    @EventListener
+    public void onRemoteBookChanged(RemoteBookChangedEvent event) {
+        version.incrementAndGet();
+    }
+
+    @EventListener
+    public void onCatalogReloaded(CatalogReloadedEvent event) {
+        version.incrementAndGet();
+    }
+}
@@ -0,0 +1,45 @@
+package com.pavillion.librarybackend.service;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Remembers ids that were recently looked up and not found, so repeated probes for
+ * missing books are answered without touching the database.
+ * A fixed-size, direct-mapped table: colliding ids simply overwrite each other.
+ * An entry is trusted only while the catalog version it was recorded at is still current
+ * (any write may have created the id) and for at most {@code ttl}, which bounds staleness
+ * for writes made by other instances.
+ */
+class NegativeLookupCache {
+
+    private final AtomicReferenceArray<Miss> slots;
+    private final int mask;
+    private final long ttlNanos;
+
+    NegativeLookupCache(int capacity, Duration ttl) {
+        int size = Integer.highestOneBit(Math.max(2, capacity) - 1) << 1;
+        this.slots = new AtomicReferenceArray<>(size);
+        this.mask = size - 1;
+        this.ttlNanos = ttl.toNanos();
+    }
+
+    void recordMiss(long id, long catalogVersion) {
+        slots.set(index(id), new Miss(id, catalogVersion, System.nanoTime() + ttlNanos));
+    }
+
+    boolean isKnownMissing(long id, long catalogVersion) {
+        Miss miss = slots.get(index(id));
+        return miss != null
+                && miss.id() == id
+                && miss.catalogVersion() == catalogVersion
+                && System.nanoTime() - miss.expiresAtNanos() < 0;
+    }
+
+    private int index(long id) {
+        long h = id * 0x9E3779B97F4A7C15L;
+        return (int) (h ^ (h >>> 32)) & mask;
+    }
+
+    private record Miss(long id, long catalogVersion, long expiresAtNanos) {}
+}
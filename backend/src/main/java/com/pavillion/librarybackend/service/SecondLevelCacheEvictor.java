@@ -0,0 +1,31 @@
+package com.pavillion.librarybackend.service;
+
+import com.pavillion.librarybackend.entity.Book;
+import com.pavillion.librarybackend.event.RemoteBookChangedEvent;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+/**
+ * Keeps Hibernate's second-level and query caches (perf profile) coherent with writes made by
+ * other instances. Both are local to this instance, so without eviction a peer's update would
+ * leave a stale row, and a stale {@code @Version}, here until the region's TTL.
+ * Without the perf profile both caches are disabled and eviction is a no-op.
+ */
+@Component
+public class SecondLevelCacheEvictor {
+
+    private final EntityManagerFactory entityManagerFactory;
+
+    public SecondLevelCacheEvictor(EntityManagerFactory entityManagerFactory) {
+        this.entityManagerFactory = entityManagerFactory;
+    }
+
+    @EventListener
+    public void onRemoteBookChanged(RemoteBookChangedEvent event) {
+        entityManagerFactory.getCache().evict(Book.class, event.bookId());
+        // Cached ISBN lookups may name the changed book, or miss a book the peer just created
+        entityManagerFactory.unwrap(SessionFactory.class).getCache().evictDefaultQueryRegion();
+    }
+}
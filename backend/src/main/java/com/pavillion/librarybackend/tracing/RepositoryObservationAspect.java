@@ -0,0 +1,40 @@
+package com.pavillion.librarybackend.tracing;
+
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationRegistry;
+import lombok.RequiredArgsConstructor;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.stereotype.Component;
+
+/**
+ * Wraps every {@code BookRepository} call in an observation, giving each repository method
+ * its own span between the service span and the JDBC statement spans.
+ * Matched on the proxy type, since inherited methods such as {@code findById} are not
+ * declared on the repository interface itself and so cannot carry {@code @Observed}.
+ */
+@Aspect
+@Component
+@RequiredArgsConstructor
+public class RepositoryObservationAspect {
+
+    private final ObservationRegistry observationRegistry;
+
+    @Around("this(com.pavillion.librarybackend.repository.BookRepository)")
+    public Object observe(ProceedingJoinPoint joinPoint) throws Throwable {
+        String method = joinPoint.getSignature().getName();
+        Observation observation = Observation.createNotStarted("book.repository", observationRegistry)
+                .contextualName("BookRepository." + method)
+                .lowCardinalityKeyValue("method", method)
+                .start();
+        try (Observation.Scope scope = observation.openScope()) {
+            return joinPoint.proceed();
+        } catch (Throwable e) {
+            observation.error(e);
+            throw e;
+        } finally {
+            observation.stop();
+        }
+    }
+}
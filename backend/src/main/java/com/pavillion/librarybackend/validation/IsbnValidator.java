@@ -0,0 +1,16 @@
+package com.pavillion.librarybackend.validation;
+
+import jakarta.validation.ConstraintValidator;
+import jakarta.validation.ConstraintValidatorContext;
+
+/**
+ * Bean Validation adapter for {@link Isbn#isValid(CharSequence)}.
+ */
+public class IsbnValidator implements ConstraintValidator<ValidIsbn, String> {
+
+    @Override
+    public boolean isValid(String value, ConstraintValidatorContext context) {
+        // Blank values are reported by @NotBlank rather than twice
+        return value == null || value.isBlank() || Isbn.isValid(value);
+    }
+}
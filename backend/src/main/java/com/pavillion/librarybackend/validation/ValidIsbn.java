@@ -0,0 +1,27 @@
+package com.pavillion.librarybackend.validation;
+
+import jakarta.validation.Constraint;
+import jakarta.validation.Payload;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Validates that a string is an ISBN-10 or ISBN-13 with a correct check digit.
+ * Null values are considered valid; combine with @NotBlank to require a value.
+ */
+@Documented
+@Constraint(validatedBy = IsbnValidator.class)
+@Target({ElementType.FIELD, ElementType.PARAMETER})
+@Retention(RetentionPolicy.RUNTIME)
+public @interface ValidIsbn {
+
+    String message() default "ISBN must be a valid ISBN-10 or ISBN-13";
+
+    Class<?>[] groups() default {};
+
+    Class<? extends Payload>[] payload() default {};
+}
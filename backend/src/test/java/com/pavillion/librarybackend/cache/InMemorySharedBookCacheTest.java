@@ -0,0 +1,57 @@
+package com.pavillion.librarybackend.cache;
+
+import com.pavillion.librarybackend.dto.BookDTO;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.LocalDate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class InMemorySharedBookCacheTest {
+
+    private final InMemorySharedBookCache cache = new InMemorySharedBookCache(2, Duration.ofMinutes(1));
+
+    @Test
+    void keepsTheNewestVersion() {
+        cache.put(1L, new CachedBook(book(1L, "Second"), 2));
+        cache.put(1L, new CachedBook(book(1L, "First"), 1));
+
+        assertThat(cache.get(1L)).isEqualTo(new CachedBook(book(1L, "Second"), 2));
+    }
+
+    @Test
+    void tombstoneBlocksOlderCopiesUntilANewerOneArrives() {
+        cache.put(1L, new CachedBook(book(1L, "First"), 1));
+        cache.put(1L, CachedBook.invalidatedBelow(2));
+        cache.put(1L, new CachedBook(book(1L, "First"), 1));
+
+        assertThat(cache.get(1L).isTombstone()).isTrue();
+
+        cache.put(1L, new CachedBook(book(1L, "Second"), 2));
+        assertThat(cache.get(1L).book().getTitle()).isEqualTo("Second");
+    }
+
+    @Test
+    void deletedBooksAreNeverCachedAgain() {
+        cache.put(1L, CachedBook.deleted());
+        cache.put(1L, new CachedBook(book(1L, "Resurrected"), 5));
+
+        assertThat(cache.get(1L)).isEqualTo(CachedBook.deleted());
+    }
+
+    @Test
+    void newBooksAreNotCachedWhenFull() {
+        cache.put(1L, new CachedBook(book(1L, "One"), 1));
+        cache.put(2L, new CachedBook(book(2L, "Two"), 1));
+        cache.put(3L, new CachedBook(book(3L, "Three"), 1));
+        cache.put(1L, new CachedBook(book(1L, "One, revised"), 2));
+
+        assertThat(cache.get(3L)).isNull();
+        assertThat(cache.get(1L).book().getTitle()).isEqualTo("One, revised");
+    }
+
+    private static BookDTO book(long id, String title) {
+        return new BookDTO(id, title, "Ann Author", "9780132350884", LocalDate.of(2008, 8, 1));
+    }
+}
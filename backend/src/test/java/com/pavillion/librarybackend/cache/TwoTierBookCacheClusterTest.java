@@ -0,0 +1,135 @@
+package com.pavillion.librarybackend.cache;
+
+import com.pavillion.librarybackend.dto.BookDTO;
+import com.pavillion.librarybackend.event.BookChangedEvent;
+import com.pavillion.librarybackend.event.RemoteBookChangedEvent;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.net.DatagramPacket;
+import java.net.DatagramSocket;
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.BooleanSupplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Two cache instances, each with its own shared tier, exchanging invalidations over loopback UDP
+ * the way two backend processes do.
+ */
+class TwoTierBookCacheClusterTest {
+
+    private final List<InvalidationBroadcaster> broadcasters = new ArrayList<>();
+    private int secondPort;
+    private TwoTierBookCache first;
+    private TwoTierBookCache second;
+
+    @BeforeEach
+    void startInstances() throws IOException {
+        int firstPort = freeUdpPort();
+        secondPort = freeUdpPort();
+        first = startInstance(firstPort, secondPort);
+        second = startInstance(secondPort, firstPort);
+    }
+
+    @AfterEach
+    void stopInstances() throws IOException {
+        for (InvalidationBroadcaster broadcaster : broadcasters) {
+            broadcaster.close();
+        }
+    }
+
+    @Test
+    void writeOnOneInstanceInvalidatesTheOthersCopy() throws InterruptedException {
+        first.put(book(1L, "First"), 1);
+        second.put(book(1L, "First"), 1);
+
+        first.onBookChanged(new BookChangedEvent(1L, book(1L, "Second"), 2));
+        awaitTrue(() -> second.get(1L) == null);
+
+        // A read on the second instance that loaded the old row before the write cannot reinstate it
+        second.put(book(1L, "First"), 1);
+        assertThat(second.get(1L)).isNull();
+
+        second.put(book(1L, "Second"), 2);
+        assertThat(second.get(1L).getTitle()).isEqualTo("Second");
+        assertThat(first.get(1L).getTitle()).isEqualTo("Second");
+    }
+
+    @Test
+    void deletionOnOneInstanceIsNeverReinstatedOnTheOther() throws InterruptedException {
+        second.put(book(1L, "First"), 1);
+
+        first.onBookChanged(new BookChangedEvent(1L, null, 2));
+        awaitTrue(() -> second.get(1L) == null);
+
+        second.put(book(1L, "First"), 5);
+        assertThat(second.get(1L)).isNull();
+    }
+
+    @Test
+    void lateInvalidationDoesNotDropANewerLocalWrite() {
+        second.onBookChanged(new BookChangedEvent(1L, book(1L, "Third"), 3));
+
+        // Delivered after the newer write, e.g. delayed in the network
+        second.onRemoteBookChanged(new RemoteBookChangedEvent(1L, 2));
+
+        assertThat(second.get(1L).getTitle()).isEqualTo("Third");
+    }
+
+    @Test
+    void invalidationsFromHostsOtherThanPeersAreIgnored() throws IOException, InterruptedException {
+        second.put(book(1L, "First"), 1);
+        second.put(book(2L, "Other"), 1);
+
+        // Another loopback address, so the datagram comes from a host that is not a configured peer
+        try (DatagramSocket stranger = new DatagramSocket(new InetSocketAddress("127.0.0.2", 0))) {
+            byte[] message = ByteBuffer.allocate(3 * Long.BYTES).putLong(42L).putLong(1L).putLong(2L).array();
+            stranger.send(new DatagramPacket(message, message.length, new InetSocketAddress("127.0.0.1", secondPort)));
+        }
+        first.onBookChanged(new BookChangedEvent(2L, book(2L, "Other, revised"), 2));
+        awaitTrue(() -> second.get(2L) == null);
+
+        assertThat(second.get(1L).getTitle()).isEqualTo("First");
+    }
+
+    // Helper methods
+
+    private TwoTierBookCache startInstance(int port, int peerPort) throws IOException {
+        AtomicReference<TwoTierBookCache> cache = new AtomicReference<>();
+        InvalidationBroadcaster broadcaster = new InvalidationBroadcaster(port,
+                List.of(new InetSocketAddress("127.0.0.1", peerPort)),
+                (bookId, version) -> cache.get().onRemoteBookChanged(new RemoteBookChangedEvent(bookId, version)));
+        broadcasters.add(broadcaster);
+        cache.set(new TwoTierBookCache(100, Duration.ofMinutes(1),
+                new InMemorySharedBookCache(100, Duration.ofMinutes(1)), broadcaster, new SimpleMeterRegistry()));
+        return cache.get();
+    }
+
+    private static int freeUdpPort() throws IOException {
+        try (DatagramSocket socket = new DatagramSocket(0)) {
+            return socket.getLocalPort();
+        }
+    }
+
+    private static void awaitTrue(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.nanoTime() + Duration.ofSeconds(5).toNanos();
+        while (!condition.getAsBoolean()) {
+            assertThat(System.nanoTime() - deadline).as("condition not met within 5s").isNegative();
+            Thread.sleep(5);
+        }
+    }
+
+    private static BookDTO book(long id, String title) {
+        return new BookDTO(id, title, "Ann Author", "9780132350884", LocalDate.of(2008, 8, 1));
+    }
+}
@@ -0,0 +1,104 @@
+package com.pavillion.librarybackend.catalog;
+
+import com.pavillion.librarybackend.dto.BookDTO;
+import org.junit.jupiter.api.Test;
+import org.openjdk.jol.info.GraphLayout;
+
+import java.time.LocalDate;
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CompactBookTableTest {
+
+    private static final int BOOKS = 200_000;
+    private static final int AUTHORS = 10_000;
+
+    @Test
+    void readsBackWhatWasStored() {
+        CompactBookTable table = new CompactBookTable(16);
+        BookDTO book = new BookDTO(7L, "Über Bücher", "Ann Author", "9780132350884", LocalDate.of(2001, 5, 1));
+        BookDTO unpacked = new BookDTO(8L, "Ten digits", "Ann Author", "0132350882", null);
+
+        BookDTO read = table.toDTO(table.put(7L, book.getTitle(), book.getAuthor(), book.getIsbn(), book.getPublishedDate()));
+        BookDTO readUnpacked = table.toDTO(table.put(8L, unpacked.getTitle(), unpacked.getAuthor(),
+                unpacked.getIsbn(), unpacked.getPublishedDate()));
+
+        assertThat(read).isEqualTo(book);
+        assertThat(readUnpacked).isEqualTo(unpacked);
+        assertThat(table.authorCodeAt(table.slotOf(7L))).isEqualTo(table.authorCodeAt(table.slotOf(8L)));
+        assertThat(table.publishedYearAt(table.slotOf(8L))).isEqualTo(CompactBookTable.NO_YEAR);
+    }
+
+    @Test
+    void titleAndIsbnMayBeOmitted() {
+        CompactBookTable table = new CompactBookTable(16);
+        int slot = table.put(1L, null, "Ann Author", null, LocalDate.of(1999, 1, 1));
+
+        assertThat(table.titleAt(slot)).isNull();
+        assertThat(table.isbnAt(slot)).isNull();
+        assertThat(table.publishedYearAt(slot)).isEqualTo(1999);
+    }
+
+    @Test
+    void replacedAndRemovedBooksFreeTheirSlots() {
+        CompactBookTable table = new CompactBookTable(16);
+        int slot = table.put(1L, "First", "Ann Author", "9780132350884", LocalDate.of(2001, 5, 1));
+        table.put(2L, "Second", "Bob Author", "9780135957059", null);
+
+        assertThat(table.put(1L, "First, revised", "Bob Author", "9780132350884", null)).isEqualTo(slot);
+        assertThat(table.titleAt(slot)).isEqualTo("First, revised");
+        assertThat(table.authorAt(slot)).isEqualTo("Bob Author");
+
+        assertThat(table.remove(1L)).isEqualTo(slot);
+        assertThat(table.contains(1L)).isFalse();
+        assertThat(table.isLive(slot)).isFalse();
+        assertThat(table.put(3L, "Third", "Cy Author", "9780201633610", null)).isEqualTo(slot);
+        assertThat(table.size()).isEqualTo(2);
+        assertThat(table.titleAt(table.slotOf(2L))).isEqualTo("Second");
+    }
+
+    @Test
+    void titleArenaIsCompactedOnceMostOfItIsGarbage() {
+        CompactBookTable table = new CompactBookTable(16);
+        String longTitle = "x".repeat(1000);
+        for (int round = 0; round < 3_000; round++) {
+            table.put(round % 10, longTitle + round, "Ann Author", null, null);
+        }
+
+        for (long id = 0; id < 10; id++) {
+            assertThat(table.titleAt(table.slotOf(id))).isEqualTo(longTitle + (2_990 + id));
+        }
+    }
+
+    /**
+     * Heap per book of the table against the DTOs it replaces in the shared cache, for books whose
+     * rows each carry their own author and ISBN Strings, as they do when read from the database.
+     */
+    @Test
+    void footprintIsAFractionOfDtos() {
+        CompactBookTable table = new CompactBookTable(1024);
+        Map<Long, BookDTO> dtos = new HashMap<>();
+        for (long id = 1; id <= BOOKS; id++) {
+            BookDTO book = new BookDTO(id, "Title of book " + id, new String("Author number " + id % AUTHORS),
+                    isbn13(978_100_000_000L + id), LocalDate.ofEpochDay(id % 20_000));
+            table.put(id, book.getTitle(), book.getAuthor(), book.getIsbn(), book.getPublishedDate());
+            dtos.put(id, book);
+        }
+
+        long compact = GraphLayout.parseInstance(table).totalSize();
+        long objects = GraphLayout.parseInstance(dtos).totalSize();
+
+        assertThat(compact).isLessThan(objects / 3);
+    }
+
+    private static String isbn13(long prefix) {
+        String digits = Long.toString(prefix);
+        int sum = 0;
+        for (int i = 0; i < digits.length(); i++) {
+            sum += (digits.charAt(i) - '0') * (i % 2 == 0 ? 1 : 3);
+        }
+        return digits + (10 - sum % 10) % 10;
+    }
+}
@@ -0,0 +1,115 @@
+package com.pavillion.librarybackend.catalog;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class MinHashLshIndexTest {
+
+    private static final int MAX_PER_BUCKET = 100;
+
+    @Test
+    void removedSlotIsReusedWithoutKeepingTheOldBuckets() {
+        MinHashLshIndex index = new MinHashLshIndex(16);
+        index.put(1L, 1, signature(1));
+        index.remove(1L);
+        index.put(2L, 1, signature(2));
+
+        assertThat(index.candidates(signature(1), -1, MAX_PER_BUCKET)).isEmpty();
+        assertThat(index.candidates(signature(2), -1, MAX_PER_BUCKET)).containsExactly(2L);
+        assertThat(index.versionOf(1L)).isEqualTo(MinHashLshIndex.NO_VERSION);
+        assertThat(index.size()).isEqualTo(1);
+    }
+
+    @Test
+    void reindexingMovesABookToItsNewBuckets() {
+        MinHashLshIndex index = new MinHashLshIndex(16);
+        index.put(1L, 1, signature(1));
+        index.put(1L, 2, signature(2));
+
+        assertThat(index.candidates(signature(1), -1, MAX_PER_BUCKET)).isEmpty();
+        assertThat(index.candidates(signature(2), -1, MAX_PER_BUCKET)).containsExactly(1L);
+        assertThat(index.versionOf(1L)).isEqualTo(2);
+    }
+
+    @Test
+    void removingHeadMiddleOrTailKeepsTheRestOfTheBucket() {
+        // Each put links the book at the head, so 3 is the head, 2 the middle and 1 the tail
+        for (long removed = 1; removed <= 3; removed++) {
+            MinHashLshIndex index = new MinHashLshIndex(16);
+            for (long id = 1; id <= 3; id++) {
+                index.put(id, 1, signature(7));
+            }
+
+            index.remove(removed);
+
+            long[] expected = new long[2];
+            int next = 0;
+            for (long id = 3; id >= 1; id--) {
+                if (id != removed) {
+                    expected[next++] = id;
+                }
+            }
+            assertThat(index.candidates(signature(7), -1, MAX_PER_BUCKET))
+                    .as("after removing %d", removed)
+                    .containsExactly(expected[0], expected[1]);
+        }
+    }
+
+    @Test
+    void emptiedBucketCanBeRefilled() {
+        MinHashLshIndex index = new MinHashLshIndex(16);
+        index.put(1L, 1, signature(7));
+        index.put(2L, 1, signature(7));
+        index.remove(2L);
+        index.remove(1L);
+
+        assertThat(index.candidates(signature(7), -1, MAX_PER_BUCKET)).isEmpty();
+
+        index.put(3L, 1, signature(7));
+        assertThat(index.candidates(signature(7), -1, MAX_PER_BUCKET)).containsExactly(3L);
+    }
+
+    @Test
+    void growsPastItsInitialCapacity() {
+        MinHashLshIndex index = new MinHashLshIndex(16);
+        int books = 5_000;
+        for (long id = 0; id < books; id++) {
+            // Ten books per distinct signature, so buckets hold several entries while the arrays grow
+            index.put(id, id, signature((int) (id / 10)));
+        }
+        for (long id = 0; id < books; id += 2) {
+            index.remove(id);
+        }
+
+        assertThat(index.size()).isEqualTo(books / 2);
+        for (int group = 0; group < books / 10; group++) {
+            long first = group * 10L;
+            assertThat(index.candidates(signature(group), -1, MAX_PER_BUCKET))
+                    .containsExactlyInAnyOrder(first + 1, first + 3, first + 5, first + 7, first + 9);
+        }
+        assertThat(index.versionOf(4_999L)).isEqualTo(4_999L);
+    }
+
+    @Test
+    void candidatesExcludeTheQueriedBookAndStopAtTheBucketLimit() {
+        MinHashLshIndex index = new MinHashLshIndex(16);
+        for (long id = 1; id <= 5; id++) {
+            index.put(id, 1, signature(7));
+        }
+
+        assertThat(index.candidates(signature(7), 5L, MAX_PER_BUCKET)).containsExactly(4L, 3L, 2L, 1L);
+        assertThat(index.candidates(signature(7), -1, 2)).containsExactly(5L, 4L);
+    }
+
+    /**
+     * A signature with {@code seed} in every row, so books with different seeds never share a bucket.
+     */
+    private static short[] signature(int seed) {
+        short[] signature = new short[MinHash.SIGNATURE_LENGTH];
+        Arrays.fill(signature, (short) seed);
+        return signature;
+    }
+}
@@ -0,0 +1,52 @@
+package com.pavillion.librarybackend.idempotency;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.ResponseEntity;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class IdempotencyStoreTest {
+
+    private final IdempotencyStore store =
+            new IdempotencyStore(1, Duration.ofMinutes(1), new SimpleMeterRegistry());
+    private final AtomicInteger executions = new AtomicInteger();
+
+    @Test
+    void requestStillRunningIsNotEvictedWhenFull() {
+        CompletableFuture<ResponseEntity<String>> running = new CompletableFuture<>();
+        store.execute("first", "create", () -> count(running));
+
+        store.execute("second", "create", () -> completed("second"));
+        CompletableFuture<ResponseEntity<String>> retry = store.execute("first", "create", () -> completed("again"));
+
+        assertThat(executions).hasValue(2);
+        running.complete(ResponseEntity.ok("first"));
+        assertThat(retry.join().getBody()).isEqualTo("first");
+        assertThat(retry.join().getHeaders().getFirst(IdempotencyStore.REPLAYED_HEADER)).isEqualTo("true");
+    }
+
+    @Test
+    void oldestCompletedEntryIsEvictedWhenFull() {
+        store.execute("first", "create", () -> completed("first"));
+        store.execute("second", "create", () -> completed("second"));
+
+        CompletableFuture<ResponseEntity<String>> retry = store.execute("first", "create", () -> completed("again"));
+
+        assertThat(executions).hasValue(3);
+        assertThat(retry.join().getBody()).isEqualTo("again");
+    }
+
+    private CompletableFuture<ResponseEntity<String>> completed(String body) {
+        return count(CompletableFuture.completedFuture(ResponseEntity.ok(body)));
+    }
+
+    private <T> CompletableFuture<T> count(CompletableFuture<T> response) {
+        executions.incrementAndGet();
+        return response;
+    }
+}
@@ -0,0 +1,86 @@
+package com.pavillion.librarybackend.service;
+
+import com.pavillion.librarybackend.dto.BookDTO;
+import com.pavillion.librarybackend.dto.FacetCountDTO;
+import com.pavillion.librarybackend.event.BookChangedEvent;
+import com.pavillion.librarybackend.event.RemoteBookChangedEvent;
+import com.pavillion.librarybackend.repository.BookFacetView;
+import com.pavillion.librarybackend.repository.BookRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Ordering of peer changes, applied by rereading the row, against local events.
+ */
+class BookFacetIndexTest {
+
+    private final BookRepository bookRepository = mock(BookRepository.class);
+    private final BookFacetIndex index = new BookFacetIndex(bookRepository, 4);
+
+    @BeforeEach
+    void buildEmptyIndex() {
+        index.rebuild();
+        index.onBookChanged(new BookChangedEvent(1L, book("Old Author"), 1));
+    }
+
+    @Test
+    void peerRowIsReadWithoutBlockingFacetReads() {
+        when(bookRepository.findFacetViewById(1L)).thenAnswer(invocation -> {
+            List<FacetCountDTO> counts = CompletableFuture.supplyAsync(() -> index.countByAuthor(null))
+                    .get(5, TimeUnit.SECONDS);
+            assertThat(counts).extracting(FacetCountDTO::getValue).containsExactly("Old Author");
+            return Optional.of(row("Peer Author", 2));
+        });
+
+        index.onRemoteBookChanged(new RemoteBookChangedEvent(1L, 2));
+
+        assertThat(index.countByAuthor(null)).containsExactly(new FacetCountDTO("Peer Author", 1));
+    }
+
+    @Test
+    void staleRowDoesNotOverwriteALocalChangeAppliedWhileItWasRead() {
+        when(bookRepository.findFacetViewById(1L)).thenAnswer(invocation -> {
+            index.onBookChanged(new BookChangedEvent(1L, book("Local Author"), 3));
+            return Optional.of(row("Peer Author", 2));
+        });
+
+        index.onRemoteBookChanged(new RemoteBookChangedEvent(1L, 2));
+
+        assertThat(index.countByAuthor(null)).containsExactly(new FacetCountDTO("Local Author", 1));
+    }
+
+    @Test
+    void rowReadBeforeALocalDeletionDoesNotResurrectTheBook() {
+        when(bookRepository.findFacetViewById(1L)).thenAnswer(invocation -> {
+            index.onBookChanged(new BookChangedEvent(1L, null, Long.MAX_VALUE));
+            return Optional.of(row("Peer Author", 2));
+        });
+
+        index.onRemoteBookChanged(new RemoteBookChangedEvent(1L, 2));
+
+        assertThat(index.countByAuthor(null)).isEmpty();
+    }
+
+    // Helper methods
+
+    private static BookDTO book(String author) {
+        return new BookDTO(1L, "Clean Code", author, "9780132350884", LocalDate.of(2008, 8, 1));
+    }
+
+    private static BookFacetView row(String author, long version) {
+        return new FacetRow(1L, "Clean Code", author, LocalDate.of(2008, 8, 1), version);
+    }
+
+    private record FacetRow(Long getId, String getTitle, String getAuthor, LocalDate getPublishedDate, Long getVersion)
+            implements BookFacetView {}
+}
@@ -0,0 +1,90 @@
+package com.pavillion.librarybackend.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.pavillion.librarybackend.dto.BookDTO;
+import com.pavillion.librarybackend.event.CatalogReloadedEvent;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class BookListResponseCacheTest {
+
+    private static final BookSort BY_TITLE = BookSort.parse("title");
+
+    private final BookService bookService = mock(BookService.class);
+    private final CatalogVersion catalogVersion = new CatalogVersion();
+    private final BookListResponseCache cache =
+            new BookListResponseCache(bookService, catalogVersion, new ObjectMapper().findAndRegisterModules());
+    private final ExecutorService executor = Executors.newFixedThreadPool(4);
+
+    @AfterEach
+    void stopExecutor() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void slowRebuildOfOneSortDoesNotBlockAnother() throws Exception {
+        CountDownLatch releaseById = new CountDownLatch(1);
+        when(bookService.getAllBooks(BookSort.BY_ID)).thenAnswer(invocation -> {
+            releaseById.await(10, TimeUnit.SECONDS);
+            return List.of(book("By id"));
+        });
+        when(bookService.getAllBooks(BY_TITLE)).thenReturn(List.of(book("By title")));
+
+        Future<BookListResponseCache.Snapshot> byId = executor.submit(() -> cache.getAllBooks(BookSort.BY_ID));
+        Future<BookListResponseCache.Snapshot> byTitle = executor.submit(() -> cache.getAllBooks(BY_TITLE));
+
+        assertThat(new String(byTitle.get(5, TimeUnit.SECONDS).json())).contains("By title");
+        assertThat(byId).isNotDone();
+        releaseById.countDown();
+        assertThat(new String(byId.get(5, TimeUnit.SECONDS).json())).contains("By id");
+    }
+
+    @Test
+    void concurrentRequestsForOneSortShareARebuild() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        when(bookService.getAllBooks(BY_TITLE)).thenAnswer(invocation -> {
+            release.await(10, TimeUnit.SECONDS);
+            return List.of(book("By title"));
+        });
+
+        Future<BookListResponseCache.Snapshot> first = executor.submit(() -> cache.getAllBooks(BY_TITLE));
+        Future<BookListResponseCache.Snapshot> second = executor.submit(() -> cache.getAllBooks(BY_TITLE));
+        Thread.sleep(100);
+        release.countDown();
+
+        assertThat(first.get(5, TimeUnit.SECONDS)).isSameAs(second.get(5, TimeUnit.SECONDS));
+        verify(bookService, times(1)).getAllBooks(BY_TITLE);
+    }
+
+    @Test
+    void catalogChangeRebuildsTheSnapshot() {
+        when(bookService.getAllBooks(BY_TITLE)).thenReturn(List.of(book("Before")), List.of(book("After")));
+
+        BookListResponseCache.Snapshot before = cache.getAllBooks(BY_TITLE);
+        assertThat(cache.getAllBooks(BY_TITLE)).isSameAs(before);
+
+        catalogVersion.onCatalogReloaded(new CatalogReloadedEvent());
+
+        BookListResponseCache.Snapshot after = cache.getAllBooks(BY_TITLE);
+        assertThat(new String(after.json())).contains("After");
+        assertThat(after.etag()).isNotEqualTo(before.etag());
+    }
+
+    private static BookDTO book(String title) {
+        return new BookDTO(1L, title, "Ann Author", "9780132350884", LocalDate.of(2008, 8, 1));
+    }
+}
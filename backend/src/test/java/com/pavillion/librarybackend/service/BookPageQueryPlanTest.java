@@ -0,0 +1,135 @@
+package com.pavillion.librarybackend.service;
+
+import com.pavillion.librarybackend.dto.BookDTO;
+import com.pavillion.librarybackend.dto.BookPageDTO;
+import com.pavillion.librarybackend.exception.InvalidQueryParameterException;
+import com.pavillion.librarybackend.support.RecordingQueryListener;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.TestInstance;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Replays the SQL that keyset pagination generates under H2's EXPLAIN ANALYZE and checks that
+ * every page, for every supported sort order, single- and multi-field, is an index seek read in index order:
+ * no table scan, no sort step, and only about a page worth of rows visited.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE,
+        properties = "spring.datasource.url=jdbc:h2:mem:keyset-plan;DB_CLOSE_DELAY=-1")
+@Import(RecordingQueryListener.Config.class)
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class BookPageQueryPlanTest {
+
+    private static final int ROWS = 20_000;
+    private static final int PAGE_SIZE = 50;
+    /** A page plus the rows sharing the cursor's leading value; the whole table would be {@link #ROWS}. */
+    private static final int MAX_SCANNED = 4 * (PAGE_SIZE + 1);
+    private static final Pattern SCAN_COUNT = Pattern.compile("scanCount: (\\d+)");
+
+    @Autowired
+    private BookService bookService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private RecordingQueryListener queries;
+
+    @BeforeAll
+    void seedCatalog() {
+        // Every tenth book has no published date, so paging has to cross between nulls and values
+        jdbcTemplate.update("insert into books (id, title, author, isbn, published_date, version) "
+                + "select x, 'Title ' || (x % 5000), 'Author ' || (x % 300), 'plan-' || x, "
+                + "case when x % 10 = 0 then null else dateadd('DAY', x % 9000, date '1990-01-01') end, 0 "
+                + "from system_range(1001, 1000 + ?)", ROWS);
+        jdbcTemplate.execute("analyze");
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"id", "-id", "title", "-title", "author", "-author", "isbn", "-isbn",
+            "publishedDate", "-publishedDate", "title,author,publishedDate,-id", "-title,-author",
+            "title,author", "author,publishedDate", "-author,-publishedDate,-id"})
+    void everyPageIsAnIndexSeek(String spec) {
+        BookSort sort = BookSort.parse(spec);
+
+        BookPageDTO first = assertSeeks(sort, null);
+        BookDTO middle = bookService.getBookById(1000L + ROWS / 2);
+        assertSeeks(sort, first.getNextCursor());
+        assertSeeks(sort, BookCursor.encode(sort, middle));
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"publishedDate", "-publishedDate"})
+    void pagesAcrossNullsAreIndexSeeks(String spec) {
+        BookSort sort = BookSort.parse(spec);
+        Long lastNullId = jdbcTemplate.queryForObject(
+                "select max(id) from books where published_date is null", Long.class);
+        LocalDate earliest = jdbcTemplate.queryForObject(
+                "select min(published_date) from books", LocalDate.class);
+        Long earliestId = jdbcTemplate.queryForObject(
+                "select max(id) from books where published_date = ?", Long.class, earliest);
+
+        // Within the nulls, from the last null into the values, and from the lowest value into the nulls
+        assertSeeks(sort, BookCursor.encode(sort, bookService.getBookById(1000L + PAGE_SIZE * 10)));
+        BookPageDTO afterNulls = assertSeeks(sort, BookCursor.encode(sort, bookService.getBookById(lastNullId)));
+        BookPageDTO afterEarliest = assertSeeks(sort, BookCursor.encode(sort, bookService.getBookById(earliestId)));
+
+        BookPageDTO crossing = sort.orders().get(0).descending() ? afterEarliest : afterNulls;
+        assertThat(crossing.getBooks()).hasSize(PAGE_SIZE);
+        if (sort.orders().get(0).descending()) {
+            assertThat(crossing.getBooks().get(PAGE_SIZE - 1).getPublishedDate()).isNull();
+        } else {
+            assertThat(crossing.getBooks().get(0).getPublishedDate()).isEqualTo(earliest);
+        }
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"author,title", "title,-author", "-publishedDate,id", "isbn,title"})
+    void sortsWithoutAMatchingIndexAreRejected(String spec) {
+        assertThatThrownBy(() -> BookSort.parse(spec))
+                .isInstanceOf(InvalidQueryParameterException.class)
+                .hasMessageContaining("title,author,publishedDate,-id");
+    }
+
+    // Helper methods
+
+    private BookPageDTO assertSeeks(BookSort sort, String cursor) {
+        queries.clear();
+        BookPageDTO page = bookService.getBooksPage(sort, cursor, PAGE_SIZE);
+        List<RecordingQueryListener.Statement> selects = queries.statements("select").stream()
+                .filter(statement -> statement.sql().contains(" books "))
+                .toList();
+        assertThat(selects).as("page queries for %s", sort).isNotEmpty();
+
+        for (RecordingQueryListener.Statement select : selects) {
+            String plan = explain(select);
+            assertThat(plan).as(plan).doesNotContain("tableScan").contains("/* index sorted */");
+            assertThat(scanCount(plan)).as(plan).isLessThanOrEqualTo(MAX_SCANNED);
+        }
+        return page;
+    }
+
+    private String explain(RecordingQueryListener.Statement select) {
+        List<Object> parameters = new ArrayList<>(select.parameters());
+        return jdbcTemplate.queryForObject("explain analyze " + select.sql(), String.class, parameters.toArray());
+    }
+
+    private static int scanCount(String plan) {
+        Matcher matcher = SCAN_COUNT.matcher(plan);
+        assertThat(matcher.find()).as(plan).isTrue();
+        return Integer.parseInt(matcher.group(1));
+    }
+}
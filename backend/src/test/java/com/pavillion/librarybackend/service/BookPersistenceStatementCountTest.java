@@ -0,0 +1,134 @@
+package com.pavillion.librarybackend.service;
+
+import com.pavillion.librarybackend.dto.BookDTO;
+import com.pavillion.librarybackend.entity.Book;
+import com.pavillion.librarybackend.repository.BookRepository;
+import com.pavillion.librarybackend.support.RecordingQueryListener;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Counts the JDBC statements each book operation sends under the perf profile: second-level and
+ * query cache hits send none, and writes go out as JDBC batches. Only statements from the test
+ * thread are counted, so startup seeding and index rebuilds do not interfere.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE,
+        properties = "spring.datasource.url=jdbc:h2:mem:perf-statements;DB_CLOSE_DELAY=-1")
+@ActiveProfiles("perf")
+@Import(RecordingQueryListener.Config.class)
+class BookPersistenceStatementCountTest {
+
+    private static final AtomicLong NEXT_ISBN = new AtomicLong(978_100_000_000L);
+
+    @Autowired
+    private BookService bookService;
+
+    @Autowired
+    private BookRepository bookRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private RecordingQueryListener queries;
+
+    @BeforeEach
+    void clearStatements() {
+        queries.clear();
+    }
+
+    @Test
+    void createChecksIsbnThenInsertsInOneBatch() {
+        bookService.createBook(newBook());
+
+        // Plus "select next value for books_seq" once every 50 ids
+        assertThat(sql(statements("select"))).filteredOn(select -> !select.contains("books_seq")).containsExactly(
+                "select b1_0.id from books b1_0 where b1_0.isbn=? fetch first ? rows only");
+        assertThat(statements("insert")).singleElement()
+                .satisfies(insert -> assertThat(insert.batch()).isTrue());
+    }
+
+    @Test
+    void updateReadsTheBookFromTheSecondLevelCache() {
+        BookDTO book = bookService.createBook(newBook());
+        queries.clear();
+
+        book.setTitle("Statement counting, revised");
+        bookService.updateBook(book.getId(), book);
+
+        assertThat(statements("select")).isEmpty();
+        assertThat(statements("update")).hasSize(1);
+        assertThat(queries.statementsOnThisThread()).hasSize(1);
+    }
+
+    @Test
+    void repeatedIsbnLookupIsServedByTheQueryCache() {
+        BookDTO book = bookService.createBook(newBook());
+        bookService.getBookByIsbn(book.getIsbn());
+        queries.clear();
+
+        bookService.getBookByIsbn(book.getIsbn());
+
+        assertThat(queries.statementsOnThisThread()).isEmpty();
+    }
+
+    @Test
+    void bulkInsertIsBatchedWithPooledSequenceIds() {
+        List<Book> books = IntStream.range(0, 60).mapToObj(i -> toEntity(newBook())).toList();
+
+        transactionTemplate.executeWithoutResult(status -> bookRepository.saveAll(books));
+
+        // batch_size 50, and one sequence call covers up to 50 ids (allocationSize in orm-perf.xml)
+        assertThat(statements("insert"))
+                .allSatisfy(insert -> assertThat(insert.batch()).isTrue())
+                .extracting(RecordingQueryListener.Statement::batchSize)
+                .containsExactly(50, 10);
+        assertThat(sql(statements("select"))).hasSizeLessThanOrEqualTo(2)
+                .allSatisfy(select -> assertThat(select).isEqualTo("select next value for books_seq"));
+    }
+
+    // Helper methods
+
+    private List<RecordingQueryListener.Statement> statements(String verb) {
+        return queries.statementsOnThisThread().stream().filter(statement -> statement.is(verb)).toList();
+    }
+
+    private static List<String> sql(List<RecordingQueryListener.Statement> statements) {
+        return statements.stream().map(RecordingQueryListener.Statement::sql).toList();
+    }
+
+    private static BookDTO newBook() {
+        return BookDTO.builder()
+                .title("Statement counting")
+                .author("Perf Profile")
+                .isbn(isbn13(NEXT_ISBN.getAndIncrement()))
+                .publishedDate(LocalDate.of(2020, 1, 1))
+                .build();
+    }
+
+    private static Book toEntity(BookDTO dto) {
+        return Book.builder().title(dto.getTitle()).author(dto.getAuthor()).isbn(dto.getIsbn())
+                .publishedDate(dto.getPublishedDate()).build();
+    }
+
+    private static String isbn13(long prefix) {
+        String digits = Long.toString(prefix);
+        int sum = 0;
+        for (int i = 0; i < digits.length(); i++) {
+            sum += (digits.charAt(i) - '0') * (i % 2 == 0 ? 1 : 3);
+        }
+        return digits + (10 - sum % 10) % 10;
+    }
+}
@@ -0,0 +1,86 @@
+package com.pavillion.librarybackend.service;
+
+import com.pavillion.librarybackend.dto.BookDTO;
+import com.pavillion.librarybackend.entity.Book;
+import com.pavillion.librarybackend.event.BookChangedEvent;
+import com.pavillion.librarybackend.repository.BookFacetView;
+import com.pavillion.librarybackend.repository.BookRepository;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class BookSimilarityIndexTest {
+
+    private static final String TITLE = "Clean Code: A Handbook of Agile Software Craftsmanship";
+    private static final String AUTHOR = "Robert C. Martin";
+
+    private final BookRepository bookRepository = mock(BookRepository.class);
+    private final BookSimilarityIndex index = new BookSimilarityIndex(bookRepository, 0.6, 4);
+
+    @Test
+    void lookupsKeepTheCurrentIndexWhileARebuildScans() {
+        index.onBookChanged(new BookChangedEvent(1L, dto(1L), 0));
+        when(bookRepository.findAllById(any())).thenReturn(List.of(entity(1L)));
+        when(bookRepository.findMinId()).thenReturn(1L);
+        when(bookRepository.findMaxId()).thenReturn(2L);
+        when(bookRepository.findFacetViewsByIdBetween(any(), any())).thenAnswer(invocation -> {
+            assertThat(similarIds()).containsExactly(1L);
+            return List.of(row(1L), row(2L));
+        });
+
+        index.rebuild();
+
+        when(bookRepository.findAllById(any())).thenReturn(List.of(entity(1L), entity(2L)));
+        assertThat(similarIds()).containsExactlyInAnyOrder(1L, 2L);
+    }
+
+    @Test
+    void changesDuringARebuildReachTheNewIndex() {
+        when(bookRepository.findMinId()).thenReturn(1L);
+        when(bookRepository.findMaxId()).thenReturn(2L);
+        when(bookRepository.findFacetViewsByIdBetween(any(), any())).thenAnswer(invocation -> {
+            index.onBookChanged(new BookChangedEvent(1L, null, Long.MAX_VALUE));
+            index.onBookChanged(new BookChangedEvent(3L, dto(3L), 0));
+            return List.of(row(1L), row(2L));
+        });
+
+        index.rebuild();
+
+        when(bookRepository.findAllById(any())).thenAnswer(invocation -> {
+            Iterable<Long> ids = invocation.getArgument(0);
+            assertThat(ids).containsExactlyInAnyOrder(2L, 3L);
+            return List.of(entity(2L), entity(3L));
+        });
+        assertThat(similarIds()).containsExactlyInAnyOrder(2L, 3L);
+    }
+
+    // Helper methods
+
+    private List<Long> similarIds() {
+        return index.findSimilar(TITLE, AUTHOR, null, 10).stream()
+                .map(similar -> similar.getBook().getId())
+                .toList();
+    }
+
+    private static BookDTO dto(long id) {
+        return new BookDTO(id, TITLE, AUTHOR, "9780132350884", LocalDate.of(2008, 8, 1));
+    }
+
+    private static Book entity(long id) {
+        return Book.builder().id(id).title(TITLE).author(AUTHOR).isbn("9780132350884")
+                .publishedDate(LocalDate.of(2008, 8, 1)).version(0L).build();
+    }
+
+    private static BookFacetView row(long id) {
+        return new FacetRow(id, TITLE, AUTHOR, LocalDate.of(2008, 8, 1), 0L);
+    }
+
+    private record FacetRow(Long getId, String getTitle, String getAuthor, LocalDate getPublishedDate, Long getVersion)
+            implements BookFacetView {}
+}
@@ -0,0 +1,67 @@
+package com.pavillion.librarybackend.service;
+
+import com.pavillion.librarybackend.dto.BookDTO;
+import com.pavillion.librarybackend.event.RemoteBookChangedEvent;
+import com.pavillion.librarybackend.exception.ResourceNotFoundException;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * A write by another instance, applied here directly in the database, must not leave this
+ * instance's second-level cache serving the old row and version.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE,
+        properties = "spring.datasource.url=jdbc:h2:mem:perf-eviction;DB_CLOSE_DELAY=-1")
+@ActiveProfiles("perf")
+class SecondLevelCacheEvictorTest {
+
+    @Autowired
+    private BookService bookService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Test
+    void peerUpdateEvictsTheCachedBook() {
+        BookDTO book = bookService.createBook(BookDTO.builder()
+                .title("Cached title")
+                .author("Second Level")
+                .isbn("9781000000001")
+                .publishedDate(LocalDate.of(2020, 1, 1))
+                .build());
+
+        // The peer's update, and the invalidation it broadcasts
+        jdbcTemplate.update("update books set title = ?, version = version + 1 where id = ?",
+                "Peer title", book.getId());
+        long version = jdbcTemplate.queryForObject("select version from books where id = ?", Long.class, book.getId());
+        eventPublisher.publishEvent(new RemoteBookChangedEvent(book.getId(), version));
+
+        assertThat(bookService.getBookById(book.getId()).getTitle()).isEqualTo("Peer title");
+        book.setTitle("Local title");
+        assertThat(bookService.updateBook(book.getId(), book).getTitle()).isEqualTo("Local title");
+    }
+
+    @Test
+    void peerCreateEvictsCachedIsbnLookups() {
+        String isbn = "9781000000018";
+        assertThatThrownBy(() -> bookService.getBookByIsbn(isbn)).isInstanceOf(ResourceNotFoundException.class);
+
+        jdbcTemplate.update("insert into books (id, title, author, isbn, published_date, version) "
+                + "values (-1, 'Peer book', 'Peer', ?, null, 0)", isbn);
+        eventPublisher.publishEvent(new RemoteBookChangedEvent(-1, 0));
+
+        assertThat(bookService.getBookByIsbn(isbn).getId()).isEqualTo(-1L);
+    }
+}
@@ -0,0 +1,133 @@
+package com.pavillion.librarybackend.service;
+
+import com.pavillion.librarybackend.exception.ServiceUnavailableException;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class SingleFlightTest {
+
+    private static final int CALLERS = 8;
+
+    private final SingleFlight<String, Object> singleFlight = new SingleFlight<>(Duration.ofSeconds(5));
+    private final AtomicInteger loads = new AtomicInteger();
+    private final CountDownLatch release = new CountDownLatch(1);
+
+    @Test
+    void concurrentCallersShareOneLoad() throws Exception {
+        Object loaded = new Object();
+        List<CompletableFuture<Object>> results = callConcurrently(() -> {
+            awaitRelease();
+            return loaded;
+        });
+
+        for (CompletableFuture<Object> result : results) {
+            assertThat(result.get(5, TimeUnit.SECONDS)).isSameAs(loaded);
+        }
+        assertThat(loads).hasValue(1);
+    }
+
+    @Test
+    void failureReachesEveryWaitingCaller() throws Exception {
+        IllegalStateException failure = new IllegalStateException("database down");
+        List<CompletableFuture<Object>> results = callConcurrently(() -> {
+            awaitRelease();
+            throw failure;
+        });
+
+        for (CompletableFuture<Object> result : results) {
+            assertThat(result).failsWithin(5, TimeUnit.SECONDS)
+                    .withThrowableOfType(Exception.class)
+                    .havingRootCause()
+                    .isSameAs(failure);
+        }
+        assertThat(loads).hasValue(1);
+    }
+
+    @Test
+    void keyIsReleasedOnceTheLoadCompletes() {
+        assertThatThrownBy(() -> singleFlight.execute("book", () -> {
+            loads.incrementAndGet();
+            throw new IllegalStateException("database down");
+        })).isInstanceOf(IllegalStateException.class);
+
+        assertThat(singleFlight.execute("book", () -> count("first"))).isEqualTo("first");
+        assertThat(singleFlight.execute("book", () -> count("second"))).isEqualTo("second");
+        assertThat(loads).hasValue(3);
+    }
+
+    @Test
+    void waitingIsBounded() throws Exception {
+        SingleFlight<String, Object> impatient = new SingleFlight<>(Duration.ofMillis(50));
+        CompletableFuture<Object> slow = CompletableFuture.supplyAsync(() -> impatient.execute("book", () -> {
+            awaitRelease();
+            return "late";
+        }));
+        while (loads.get() == 0) {
+            Thread.sleep(1);
+        }
+
+        assertThatThrownBy(() -> impatient.execute("book", () -> count("other")))
+                .isInstanceOf(ServiceUnavailableException.class);
+        release.countDown();
+        assertThat(slow.get(5, TimeUnit.SECONDS)).isEqualTo("late");
+    }
+
+    // Helper methods
+
+    /**
+     * Starts {@link #CALLERS} calls for one key and releases the load once every caller is blocked,
+     * either running the loader or waiting on it.
+     */
+    private List<CompletableFuture<Object>> callConcurrently(Supplier<Object> loader) throws InterruptedException {
+        List<CompletableFuture<Object>> results = new ArrayList<>();
+        List<Thread> threads = new ArrayList<>();
+        for (int i = 0; i < CALLERS; i++) {
+            CompletableFuture<Object> result = new CompletableFuture<>();
+            Thread thread = new Thread(() -> {
+                try {
+                    result.complete(singleFlight.execute("book", loader));
+                } catch (RuntimeException e) {
+                    result.completeExceptionally(e);
+                }
+            });
+            results.add(result);
+            threads.add(thread);
+            thread.start();
+        }
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (!threads.stream().allMatch(SingleFlightTest::isBlocked) && System.nanoTime() < deadline) {
+            Thread.sleep(1);
+        }
+        release.countDown();
+        return results;
+    }
+
+    private static boolean isBlocked(Thread thread) {
+        return thread.getState() == Thread.State.WAITING || thread.getState() == Thread.State.TIMED_WAITING;
+    }
+
+    private void awaitRelease() {
+        loads.incrementAndGet();
+        try {
+            release.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private Object count(Object value) {
+        loads.incrementAndGet();
+        return value;
+    }
+}
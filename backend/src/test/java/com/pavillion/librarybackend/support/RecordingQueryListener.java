@@ -0,0 +1,94 @@
+package com.pavillion.librarybackend.support;
+
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+import net.ttddyy.dsproxy.proxy.ParameterSetOperation;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Records every statement sent through the application's DataSource proxy, with its bound
+ * parameters, so tests can count statements per operation or replay them under EXPLAIN.
+ */
+public class RecordingQueryListener implements QueryExecutionListener {
+
+    private final List<Statement> statements = new ArrayList<>();
+
+    @Override
+    public void beforeQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+    }
+
+    @Override
+    public void afterQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        synchronized (statements) {
+            for (QueryInfo queryInfo : queryInfoList) {
+                List<Object> parameters = new ArrayList<>();
+                if (!queryInfo.getParametersList().isEmpty()) {
+                    queryInfo.getParametersList().get(0).stream()
+                            .sorted(Comparator.comparingInt(operation -> (Integer) operation.getArgs()[0]))
+                            .map(RecordingQueryListener::value)
+                            .forEach(parameters::add);
+                }
+                statements.add(new Statement(queryInfo.getQuery(), parameters, execInfo.isBatch(),
+                        queryInfo.getParametersList().size(), Thread.currentThread().getId()));
+            }
+        }
+    }
+
+    public void clear() {
+        synchronized (statements) {
+            statements.clear();
+        }
+    }
+
+    public List<Statement> statements() {
+        synchronized (statements) {
+            return List.copyOf(statements);
+        }
+    }
+
+    /**
+     * Statements whose SQL starts with the given verb, e.g. "select" or "insert".
+     */
+    public List<Statement> statements(String verb) {
+        return statements().stream().filter(statement -> statement.is(verb)).toList();
+    }
+
+    /**
+     * Statements the current thread executed, leaving out background work such as index rebuilds.
+     */
+    public List<Statement> statementsOnThisThread() {
+        long threadId = Thread.currentThread().getId();
+        return statements().stream().filter(statement -> statement.threadId() == threadId).toList();
+    }
+
+    private static Object value(ParameterSetOperation operation) {
+        // setNull(index, sqlType) carries the type, not a value
+        return operation.getMethod().getName().equals("setNull") ? null : operation.getArgs()[1];
+    }
+
+    /**
+     * One execution; a batch holds {@code batchSize} parameter sets and shows only the first.
+     */
+    public record Statement(String sql, List<Object> parameters, boolean batch, int batchSize, long threadId) {
+
+        public boolean is(String verb) {
+            return sql.stripLeading().toLowerCase(Locale.ROOT).startsWith(verb);
+        }
+    }
+
+    @TestConfiguration(proxyBeanMethods = false)
+    public static class Config {
+
+        @Bean
+        public RecordingQueryListener recordingQueryListener() {
+            return new RecordingQueryListener();
+        }
+    }
+}
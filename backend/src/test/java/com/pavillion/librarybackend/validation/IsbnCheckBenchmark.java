@@ -0,0 +1,65 @@
+package com.pavillion.librarybackend.validation;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.function.Predicate;
+import java.util.regex.Pattern;
+
+/**
+ * Compares the single-pass ISBN check against the regex checks it replaced: {@code String.matches},
+ * which compiles the pattern on every call (the old frontend form check), and a precompiled
+ * pattern (the old {@code @Pattern} constraint), both of which checked length only.
+ * <p>
+ * Reports nanoseconds per ISBN and asserts nothing about them, since wall-clock timings depend on
+ * the machine. Surefire's default includes skip {@code *Benchmark} classes; run with
+ * {@code mvn test -Pbenchmark}.
+ */
+class IsbnCheckBenchmark {
+
+    private static final String[] INPUTS = {
+            "9780132350884", "978-0-13-235088-4", "0132350882", "0-13-235088-2", "080442957X",
+            "9780132350885", "0132350881", "97801323508", "978013235088X", "not an isbn"
+    };
+    private static final Pattern ISBN_DIGITS = Pattern.compile("^(?:\\d{10}|\\d{13})$");
+    private static final int WARMUP_PASSES = 3;
+    private static final int MEASURED_PASSES = 5;
+    private static final int ROUNDS = 200_000;
+
+    /** Keeps the checks' results observable so the JIT cannot drop them. */
+    private static int sink;
+
+    @Test
+    void compareIsbnChecks() {
+        report("Isbn.isValid", Isbn::isValid);
+        report("precompiled Pattern", isbn -> ISBN_DIGITS.matcher(isbn).matches());
+        report("String.matches", isbn -> isbn.matches("\\d{10}|\\d{13}"));
+    }
+
+    // Helper methods
+
+    private static void report(String name, Predicate<String> check) {
+        for (int pass = 0; pass < WARMUP_PASSES; pass++) {
+            run(check);
+        }
+        long best = Long.MAX_VALUE;
+        for (int pass = 0; pass < MEASURED_PASSES; pass++) {
+            long started = System.nanoTime();
+            run(check);
+            best = Math.min(best, System.nanoTime() - started);
+        }
+        System.out.printf("%-20s %6.1f ns per ISBN (best of %d passes)%n",
+                name, (double) best / ROUNDS / INPUTS.length, MEASURED_PASSES);
+    }
+
+    private static void run(Predicate<String> check) {
+        int valid = 0;
+        for (int round = 0; round < ROUNDS; round++) {
+            for (String input : INPUTS) {
+                if (check.test(input)) {
+                    valid++;
+                }
+            }
+        }
+        sink += valid;
+    }
+}
@@ -0,0 +1,26 @@
+package com.pavillion.librarybackend.validation;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class IsbnTest {
+
+    @Test
+    void validatesCheckDigits() {
+        assertThat(Isbn.isValid("978-0-13-235088-4")).isTrue();
+        assertThat(Isbn.isValid("080442957X")).isTrue();
+        assertThat(Isbn.isValid("9780132350885")).isFalse();
+        assertThat(Isbn.isValid("0132350881")).isFalse();
+        assertThat(Isbn.isValid("978013235088X")).isFalse();
+        assertThat(Isbn.isValid("X132350882")).isFalse();
+    }
+
+    @Test
+    void convertsBetweenIsbn10AndIsbn13() {
+        assertThat(Isbn.toIsbn13("0-13-235088-2")).isEqualTo("9780132350884");
+        assertThat(Isbn.toIsbn13("080442957X")).isEqualTo("9780804429573");
+        assertThat(Isbn.toIsbn10("9780804429573")).isEqualTo("080442957X");
+        assertThat(Isbn.toIsbn10("9791234567896")).isNull();
+    }
+}
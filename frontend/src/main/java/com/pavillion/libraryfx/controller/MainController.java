@@ -2,6 +2,7 @@ package com.pavillion.libraryfx.controller;
 
 import com.pavillion.libraryfx.model.Book;
 import com.pavillion.libraryfx.service.BookApiService;
+import com.pavillion.libraryfx.util.Isbn;
 import javafx.application.Platform;
 import javafx.collections.FXCollections;
 import javafx.collections.ObservableList;
@@ -264,7 +265,7 @@ public class MainController {
                 null,
                 titleField.getText().trim(),
                 authorField.getText().trim(),
-                isbnField.getText().trim(),
+                Isbn.toIsbn13(isbnField.getText().trim()),
                 publishedDatePicker.getValue()
         );
     }
@@ -285,8 +286,8 @@ public class MainController {
             showWarning("Validation Error", "ISBN is required");
             return false;
         }
-        if (!isbnField.getText().trim().matches("\\d{10}|\\d{13}")) {
-            showWarning("Validation Error", "ISBN must be 10 or 13 digits");
+        if (!Isbn.isValid(isbnField.getText().trim())) {
+            showWarning("Validation Error", "ISBN must be a valid ISBN-10 or ISBN-13");
             return false;
         }
         return true;
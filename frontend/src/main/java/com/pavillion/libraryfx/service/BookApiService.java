@@ -9,23 +9,56 @@ import java.net.URI;
 import java.net.http.HttpClient;
 import java.net.http.HttpRequest;
 import java.net.http.HttpResponse;
+import java.time.Duration;
 import java.time.LocalDate;
 import java.time.format.DateTimeFormatter;
 import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
 
 /**
  * Service class for REST API communication with the backend.
  * Uses Java 11+ HttpClient for modern, non-blocking HTTP operations.
  * Implements proper error handling and JSON serialization.
+ * <p>
+ * Every request has a timeout. Failed or rejected requests are retried with jittered
+ * exponential backoff. Writes carry an Idempotency-Key that stays the same across retries,
+ * so the backend applies a write only once. Reads still pending after a short delay are
+ * hedged with a second copy, and the first response wins.
  */
 public class BookApiService {
     private static final String BASE_URL = "http://localhost:8080/api/books";
+    private static final String TRACEPARENT_HEADER = "traceparent";
+    private static final String IDEMPOTENCY_KEY_HEADER = "Idempotency-Key";
+    private static final String RETRY_AFTER_HEADER = "Retry-After";
+
+    private static final Duration CONNECT_TIMEOUT = Duration.ofSeconds(2);
+    private static final Duration READ_TIMEOUT = Duration.ofSeconds(5);
+    private static final Duration WRITE_TIMEOUT = Duration.ofSeconds(10);
+    private static final Duration HEDGE_DELAY = Duration.ofMillis(300);
+
+    private static final int MAX_ATTEMPTS = 4;
+    private static final long BASE_BACKOFF_MILLIS = 200;
+    private static final long MAX_BACKOFF_MILLIS = 5_000;
+    /** Longest Retry-After worth waiting out; a server asking for more gets its response passed on. */
+    private static final long MAX_RETRY_AFTER_MILLIS = 30_000;
+    /** Rate limited, overloaded or unreachable upstream: worth another attempt. */
+    private static final Set<Integer> RETRYABLE_STATUSES = Set.of(429, 502, 503, 504);
+
     private final HttpClient httpClient;
     private final Gson gson;
 
     public BookApiService() {
         this.httpClient = HttpClient.newBuilder()
                 .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(CONNECT_TIMEOUT)
                 .build();
 
         // Configure Gson with LocalDate adapter
@@ -38,14 +71,13 @@ public class BookApiService {
      * Fetches all books from the backend.
      */
     public List<Book> getAllBooks() throws IOException, InterruptedException {
-        HttpRequest request = HttpRequest.newBuilder()
+        HttpRequest request = newRequest(READ_TIMEOUT)
                 .uri(URI.create(BASE_URL))
                 .header("Content-Type", "application/json")
                 .GET()
                 .build();
 
-        HttpResponse<String> response = httpClient.send(request,
-                HttpResponse.BodyHandlers.ofString());
+        HttpResponse<String> response = send(request, true);
 
         if (response.statusCode() != 200) {
             throw new IOException("Failed to fetch books: " + response.statusCode());
@@ -60,14 +92,13 @@ public class BookApiService {
     public Book createBook(Book book) throws IOException, InterruptedException {
         String jsonBody = gson.toJson(book);
 
-        HttpRequest request = HttpRequest.newBuilder()
+        HttpRequest request = newWriteRequest()
                 .uri(URI.create(BASE_URL))
                 .header("Content-Type", "application/json")
                 .POST(HttpRequest.BodyPublishers.ofString(jsonBody))
                 .build();
 
-        HttpResponse<String> response = httpClient.send(request,
-                HttpResponse.BodyHandlers.ofString());
+        HttpResponse<String> response = send(request, false);
 
         if (response.statusCode() != 201) {
             handleErrorResponse(response);
@@ -82,14 +113,13 @@ public class BookApiService {
     public Book updateBook(Long id, Book book) throws IOException, InterruptedException {
         String jsonBody = gson.toJson(book);
 
-        HttpRequest request = HttpRequest.newBuilder()
+        HttpRequest request = newWriteRequest()
                 .uri(URI.create(BASE_URL + "/" + id))
                 .header("Content-Type", "application/json")
                 .PUT(HttpRequest.BodyPublishers.ofString(jsonBody))
                 .build();
 
-        HttpResponse<String> response = httpClient.send(request,
-                HttpResponse.BodyHandlers.ofString());
+        HttpResponse<String> response = send(request, false);
 
         if (response.statusCode() != 200) {
             handleErrorResponse(response);
@@ -102,19 +132,145 @@ public class BookApiService {
      * Deletes a book from the backend.
      */
     public void deleteBook(Long id) throws IOException, InterruptedException {
-        HttpRequest request = HttpRequest.newBuilder()
+        HttpRequest request = newWriteRequest()
                 .uri(URI.create(BASE_URL + "/" + id))
                 .DELETE()
                 .build();
 
-        HttpResponse<String> response = httpClient.send(request,
-                HttpResponse.BodyHandlers.ofString());
+        HttpResponse<String> response = send(request, false);
 
         if (response.statusCode() != 204) {
             handleErrorResponse(response);
         }
     }
 
+    /**
+     * Starts a request that carries a fresh W3C trace context, so the backend's spans for it
+     * join one trace. The sampled flag is set: interactive calls are rare enough to always keep.
+     */
+    private static HttpRequest.Builder newRequest(Duration timeout) {
+        return HttpRequest.newBuilder()
+                .timeout(timeout)
+                .header(TRACEPARENT_HEADER, newTraceparent());
+    }
+
+    /**
+     * Starts a write request with a fresh idempotency key, reused by every retry of the write.
+     */
+    private static HttpRequest.Builder newWriteRequest() {
+        return newRequest(WRITE_TIMEOUT).header(IDEMPOTENCY_KEY_HEADER, UUID.randomUUID().toString());
+    }
+
+    /**
+     * Sends a request, retrying I/O failures and retryable statuses with full-jitter exponential
+     * backoff, never sooner than the server's Retry-After. A Retry-After beyond
+     * {@link #MAX_RETRY_AFTER_MILLIS} is not waited out: that response, like the last attempt's,
+     * is returned as is.
+     */
+    private HttpResponse<String> send(HttpRequest request, boolean hedged) throws IOException, InterruptedException {
+        for (int attempt = 1; ; attempt++) {
+            HttpResponse<String> response;
+            try {
+                response = hedged
+                        ? sendHedged(request)
+                        : httpClient.send(request, HttpResponse.BodyHandlers.ofString());
+            } catch (IOException e) {
+                if (attempt == MAX_ATTEMPTS) {
+                    throw e;
+                }
+                Thread.sleep(backoffMillis(attempt, 0));
+                continue;
+            }
+            long retryAfterMillis = retryAfterMillis(response);
+            if (attempt == MAX_ATTEMPTS || !RETRYABLE_STATUSES.contains(response.statusCode())
+                    || retryAfterMillis > MAX_RETRY_AFTER_MILLIS) {
+                return response;
+            }
+            Thread.sleep(backoffMillis(attempt, retryAfterMillis));
+        }
+    }
+
+    /**
+     * Sends a read, and if it has not answered within {@link #HEDGE_DELAY}, races it against a
+     * second copy. The first final answer wins and the other copy is cancelled; a retryable status
+     * or I/O failure from one copy only counts once the other has failed too.
+     */
+    private HttpResponse<String> sendHedged(HttpRequest request) throws IOException, InterruptedException {
+        CompletableFuture<HttpResponse<String>> primary =
+                httpClient.sendAsync(request, HttpResponse.BodyHandlers.ofString());
+        CompletableFuture<HttpResponse<String>> hedge = null;
+        try {
+            try {
+                return primary.get(HEDGE_DELAY.toMillis(), TimeUnit.MILLISECONDS);
+            } catch (TimeoutException e) {
+                // Slow primary: fall through and hedge
+            }
+            hedge = httpClient.sendAsync(request, HttpResponse.BodyHandlers.ofString());
+            return firstFinal(primary, hedge).get();
+        } catch (ExecutionException e) {
+            throw e.getCause() instanceof IOException io ? io : new IOException(e.getCause());
+        } finally {
+            primary.cancel(true);
+            if (hedge != null) {
+                hedge.cancel(true);
+            }
+        }
+    }
+
+    /**
+     * Completes with the first response whose status is not retryable. If neither copy gives one,
+     * completes with a retryable response if there was any, so its Retry-After is honoured,
+     * and otherwise with the last failure.
+     */
+    private static CompletableFuture<HttpResponse<String>> firstFinal(CompletableFuture<HttpResponse<String>> first,
+                                                                      CompletableFuture<HttpResponse<String>> second) {
+        CompletableFuture<HttpResponse<String>> winner = new CompletableFuture<>();
+        AtomicInteger settled = new AtomicInteger();
+        AtomicReference<HttpResponse<String>> retryable = new AtomicReference<>();
+        for (CompletableFuture<HttpResponse<String>> candidate : List.of(first, second)) {
+            candidate.whenComplete((response, failure) -> {
+                if (failure == null && !RETRYABLE_STATUSES.contains(response.statusCode())) {
+                    winner.complete(response);
+                    return;
+                }
+                if (response != null) {
+                    retryable.set(response);
+                }
+                if (settled.incrementAndGet() == 2) {
+                    if (retryable.get() != null) {
+                        winner.complete(retryable.get());
+                    } else {
+                        winner.completeExceptionally(failure);
+                    }
+                }
+            });
+        }
+        return winner;
+    }
+
+    private static long backoffMillis(int attempt, long retryAfterMillis) {
+        long ceiling = Math.min(MAX_BACKOFF_MILLIS, BASE_BACKOFF_MILLIS << (attempt - 1));
+        long jittered = ThreadLocalRandom.current().nextLong(ceiling + 1);
+        return Math.max(jittered, retryAfterMillis);
+    }
+
+    private static long retryAfterMillis(HttpResponse<?> response) {
+        return response.headers().firstValue(RETRY_AFTER_HEADER)
+                .map(value -> {
+                    try {
+                        return TimeUnit.SECONDS.toMillis(Long.parseLong(value.trim()));
+                    } catch (NumberFormatException e) {
+                        return 0L;
+                    }
+                })
+                .orElse(0L);
+    }
+
+    private static String newTraceparent() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        return String.format("00-%016x%016x-%016x-01", random.nextLong(), random.nextLong(), random.nextLong());
+    }
+
     /**
      * Handles error responses from the backend.
      */
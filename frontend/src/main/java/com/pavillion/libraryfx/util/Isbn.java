@@ -0,0 +1,126 @@
+package com.pavillion.libraryfx.util;
+
+/**
+ * ISBN-10 / ISBN-13 validation and normalization.
+ * Validation walks the input once without allocating, skipping hyphens and spaces,
+ * and verifies the check digit. Mirrors the backend validator so the form rejects
+ * exactly what the API would reject.
+ */
+public final class Isbn {
+
+    private Isbn() {}
+
+    /**
+     * Returns true if the input is a well-formed ISBN-10 or ISBN-13 with a correct check digit.
+     * Hyphens and spaces between digits are ignored.
+     */
+    public static boolean isValid(CharSequence input) {
+        if (input == null) {
+            return false;
+        }
+        int digits = 0;
+        int sum10 = 0;
+        int sum13 = 0;
+        boolean checkX = false;
+
+        for (int i = 0; i < input.length(); i++) {
+            char c = input.charAt(i);
+            if (c == '-' || c == ' ') {
+                continue;
+            }
+            if (checkX) {
+                // 'X' is only allowed as the final character
+                return false;
+            }
+            int value;
+            if (c >= '0' && c <= '9') {
+                value = c - '0';
+            } else if ((c == 'X' || c == 'x') && digits == 9) {
+                value = 10;
+                checkX = true;
+            } else {
+                return false;
+            }
+            if (digits == 13) {
+                return false;
+            }
+            sum10 += (10 - Math.min(digits, 9)) * value;
+            sum13 += (digits & 1) == 0 ? value : 3 * value;
+            digits++;
+        }
+
+        if (digits == 10) {
+            return sum10 % 11 == 0;
+        }
+        return digits == 13 && !checkX && sum13 % 10 == 0;
+    }
+
+    /**
+     * Returns the canonical ISBN-13 form (digits only) of a valid ISBN-10 or ISBN-13,
+     * or {@code null} if the input is not a valid ISBN.
+     */
+    public static String toIsbn13(CharSequence input) {
+        if (!isValid(input)) {
+            return null;
+        }
+        char[] digits = new char[13];
+        if (copyDigits(input, digits) == 13) {
+            return new String(digits);
+        }
+        // ISBN-10: prefix 978, keep the nine body digits and recompute the check digit
+        System.arraycopy(digits, 0, digits, 3, 9);
+        digits[0] = '9';
+        digits[1] = '7';
+        digits[2] = '8';
+        digits[12] = isbn13CheckDigit(digits);
+        return new String(digits);
+    }
+
+    /**
+     * Returns the ISBN-10 form of a valid ISBN, or {@code null} if the input is invalid
+     * or is an ISBN-13 outside the 978 prefix, which has no ISBN-10 equivalent.
+     */
+    public static String toIsbn10(CharSequence input) {
+        String isbn13 = toIsbn13(input);
+        if (isbn13 == null || !isbn13.startsWith("978")) {
+            return null;
+        }
+        char[] digits = new char[10];
+        isbn13.getChars(3, 12, digits, 0);
+        digits[9] = isbn10CheckDigit(digits);
+        return new String(digits);
+    }
+
+    /**
+     * Copies the characters of an already validated ISBN into {@code target}, skipping
+     * separators, and returns how many were copied (10 or 13).
+     */
+    private static int copyDigits(CharSequence input, char[] target) {
+        int count = 0;
+        for (int i = 0; i < input.length(); i++) {
+            char c = input.charAt(i);
+            if (c != '-' && c != ' ') {
+                target[count++] = c;
+            }
+        }
+        return count;
+    }
+
+    private static char isbn13CheckDigit(char[] digits) {
+        int sum = 0;
+        for (int i = 0; i < 12; i++) {
+            int value = digits[i] - '0';
+            sum += (i & 1) == 0 ? value : 3 * value;
+        }
+        return (char) ('0' + (10 - sum % 10) % 10);
+    }
+
+    private static char isbn10CheckDigit(char[] digits) {
+        int sum = 0;
+        for (int i = 0; i < 9; i++) {
+            sum += (10 - i) * (digits[i] - '0');
+        }
+        int check = (11 - sum % 11) % 11;
+        return check == 10 ? 'X' : (char) ('0' + check);
+    }
+}